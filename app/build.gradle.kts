@@ -35,6 +35,10 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    testOptions {
+        // Lets JVM tests run code that logs with android.util.Log
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
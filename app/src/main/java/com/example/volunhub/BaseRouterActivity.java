@@ -8,10 +8,13 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.volunhub.auth.AuthActivity;
+import com.example.volunhub.data.Applications;
+import com.example.volunhub.data.SavedServices;
+import com.example.volunhub.data.SearchKeywordsBackfill;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.org.OrgHomeActivity;
 import com.example.volunhub.student.StudentHomeActivity;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
@@ -34,13 +37,12 @@ public abstract class BaseRouterActivity extends AppCompatActivity {
     }
 
     /**
-     * Fetches the user's document from Firestore and routes them based on their role.
+     * Starts the user's session and routes them based on the role in their first profile snapshot.
      * Routes Students to StudentHomeActivity and Organizations to OrgHomeActivity.
      * @param uid The unique user ID from Firebase Authentication.
      */
     public void routeUser(String uid) {
-        DocumentReference docRef = db.collection("users").document(uid);
-        docRef.get().addOnCompleteListener(task -> {
+        UserSession.getInstance().start(db, uid).addOnCompleteListener(task -> {
             if (task.isSuccessful()) {
                 DocumentSnapshot document = task.getResult();
                 if (document != null && document.exists()) {
@@ -49,9 +51,17 @@ public abstract class BaseRouterActivity extends AppCompatActivity {
 
                     if ("Student".equals(role)) {
                         Log.d(TAG, "Role is Student. Sending to StudentHomeActivity.");
+                        if (document.contains(SavedServices.LEGACY_FIELD)) {
+                            SavedServices.migrate(db, document)
+                                    .addOnFailureListener(e -> Log.e(TAG, "Saved services migration failed", e));
+                        }
+                        Applications.migrate(db, document)
+                                .addOnFailureListener(e -> Log.e(TAG, "Application ID migration failed", e));
                         goToActivity(StudentHomeActivity.class);
                     } else if ("Organization".equals(role)) {
                         Log.d(TAG, "Role is Organization. Sending to OrgHomeActivity.");
+                        new SearchKeywordsBackfill(db).backfillOrg(document)
+                                .addOnFailureListener(e -> Log.e(TAG, "Search keywords backfill failed", e));
                         goToActivity(OrgHomeActivity.class);
                     } else {
                         handleRoutingError("Role is null or unknown.");
@@ -72,6 +82,7 @@ public abstract class BaseRouterActivity extends AppCompatActivity {
     private void handleRoutingError(String errorMessage) {
         Log.w(TAG, errorMessage);
         Toast.makeText(this, R.string.error_login_failed, Toast.LENGTH_SHORT).show(); // Ensure this string exists or use literal
+        UserSession.getInstance().clear();
         mAuth.signOut();
         goToActivity(AuthActivity.class);
     }
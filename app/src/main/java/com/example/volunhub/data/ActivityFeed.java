@@ -0,0 +1,145 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The organization dashboard's activity feed, "orgs/{orgId}/activity".
+ * <p>
+ * Entries are written in the same batch or transaction as the change they describe (a new
+ * application, a status change, a service post), with the display message already built, so the
+ * dashboard reads one small document per item shown and never joins other collections.
+ * Bulk operations write one summary entry per chunk rather than one per application.
+ */
+public final class ActivityFeed {
+
+    public static final String ORGS = "orgs";
+    public static final String COLLECTION = "activity";
+
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_MESSAGE = "message";
+    public static final String FIELD_CREATED_AT = "createdAt";
+
+    public static final String TYPE_APPLICATION = "application";
+    public static final String TYPE_STATUS = "status";
+    public static final String TYPE_SERVICE = "service";
+
+    private static final int BACKFILL_LIMIT = 10;
+
+    private ActivityFeed() {}
+
+    public static CollectionReference feedRef(FirebaseFirestore db, String orgId) {
+        return db.collection(ORGS).document(orgId).collection(COLLECTION);
+    }
+
+    /**
+     * @return The feed, newest first.
+     */
+    public static Query newestFirst(FirebaseFirestore db, String orgId) {
+        return feedRef(db, orgId).orderBy(FIELD_CREATED_AT, Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Adds an entry inside a batch.
+     * @param type One of the TYPE_ constants.
+     * @param message The text shown on the dashboard.
+     * @param serviceId The service the entry is about, if any.
+     */
+    public static void record(WriteBatch batch, FirebaseFirestore db, @Nullable String orgId, String type, String message, @Nullable String serviceId) {
+        if (orgId == null) return;
+        batch.set(feedRef(db, orgId).document(), entry(type, message, serviceId, FieldValue.serverTimestamp()));
+    }
+
+    /**
+     * Adds an entry inside a transaction. Must be called after all of the transaction's reads.
+     */
+    public static void record(Transaction transaction, FirebaseFirestore db, @Nullable String orgId, String type, String message, @Nullable String serviceId) {
+        if (orgId == null) return;
+        transaction.set(feedRef(db, orgId).document(), entry(type, message, serviceId, FieldValue.serverTimestamp()));
+    }
+
+    /**
+     * @return The message for a single application in the given status.
+     */
+    public static String applicationMessage(@Nullable String serviceTitle, String status) {
+        return "Application: " + serviceTitle + " (" + status + ")";
+    }
+
+    /**
+     * @return The message for several applications of one service moving to the given status.
+     */
+    public static String bulkMessage(@Nullable String serviceTitle, String status, int count) {
+        return "Applications: " + serviceTitle + " (" + count + " " + status + ")";
+    }
+
+    /**
+     * @return The message for a newly posted service.
+     */
+    public static String serviceMessage(@Nullable String title) {
+        return "New Service Posted: " + title;
+    }
+
+    /**
+     * Seeds an empty feed from the organization's latest applications and service posts, for
+     * organizations whose activity predates the feed. Entry IDs are derived from the source
+     * documents, so running this twice writes the same entries.
+     * @param db The Firestore instance.
+     * @param orgId The organization.
+     * @return A task that completes when the entries have been written.
+     */
+    public static Task<Void> backfill(FirebaseFirestore db, String orgId) {
+        Task<QuerySnapshot> apps = db.collection(Applications.COLLECTION)
+                .whereEqualTo("orgId", orgId)
+                .orderBy("appliedAt", Query.Direction.DESCENDING)
+                .limit(BACKFILL_LIMIT)
+                .get();
+        Task<QuerySnapshot> services = db.collection("services")
+                .whereEqualTo("orgId", orgId)
+                .orderBy("createdAt", Query.Direction.DESCENDING)
+                .limit(BACKFILL_LIMIT)
+                .get();
+
+        return Tasks.whenAll(apps, services).onSuccessTask(aVoid -> {
+            WriteBatch batch = db.batch();
+            for (DocumentSnapshot doc : apps.getResult().getDocuments()) {
+                DocumentReference ref = feedRef(db, orgId).document("app_" + doc.getId());
+                batch.set(ref, entry(TYPE_APPLICATION, applicationMessage(doc.getString("serviceTitle"), doc.getString("status")),
+                        doc.getString("serviceId"), timestampOrNow(doc.getTimestamp("appliedAt"))));
+            }
+            for (DocumentSnapshot doc : services.getResult().getDocuments()) {
+                DocumentReference ref = feedRef(db, orgId).document("service_" + doc.getId());
+                batch.set(ref, entry(TYPE_SERVICE, serviceMessage(doc.getString("title")),
+                        doc.getId(), timestampOrNow(doc.getTimestamp("createdAt"))));
+            }
+            return batch.commit();
+        });
+    }
+
+    private static Map<String, Object> entry(String type, String message, @Nullable String serviceId, Object createdAt) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_TYPE, type);
+        data.put(FIELD_MESSAGE, message);
+        data.put(FIELD_CREATED_AT, createdAt);
+        if (serviceId != null) data.put("serviceId", serviceId);
+        return data;
+    }
+
+    private static Timestamp timestampOrNow(@Nullable Timestamp timestamp) {
+        return (timestamp != null) ? timestamp : Timestamp.now();
+    }
+}
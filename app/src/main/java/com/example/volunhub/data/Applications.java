@@ -0,0 +1,208 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.models.Service;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application documents are keyed "{studentId}_{serviceId}", so a student has at most one
+ * application per service. Applying twice (a double tap or a retry) writes the same document,
+ * and the status of a service is a single document read instead of a query.
+ * <p>
+ * Applications created before this used random IDs; migrate() collapses them once per student.
+ */
+public final class Applications {
+
+    public static final String COLLECTION = "applications";
+
+    /** Set on the user document once their applications use deterministic IDs. */
+    public static final String FIELD_MIGRATED = "applicationIdsMigrated";
+
+    private static final String TAG = "Applications";
+    private static final int BATCH_LIMIT = 500;
+
+    private Applications() {}
+
+    /**
+     * @param studentId The student's UID.
+     * @param serviceId The service's document ID.
+     * @return The application's document ID.
+     */
+    public static String applicationId(String studentId, String serviceId) {
+        return studentId + "_" + serviceId;
+    }
+
+    public static DocumentReference applicationRef(FirebaseFirestore db, String studentId, String serviceId) {
+        return db.collection(COLLECTION).document(applicationId(studentId, serviceId));
+    }
+
+    /**
+     * Creates a Pending application for the student, together with its stats counters, in a transaction.
+     * If the student already has an application for the service nothing is written.
+     * @param db The Firestore instance.
+     * @param studentId The applying student's UID.
+     * @param serviceId The service's document ID.
+     * @param service The service being applied to.
+     * @return A task resolving to true if the application was created, false if it already existed.
+     */
+    public static Task<Boolean> apply(FirebaseFirestore db, String studentId, String serviceId, Service service) {
+        DocumentReference appRef = applicationRef(db, studentId, serviceId);
+
+        Map<String, Object> newApp = new HashMap<>();
+        newApp.put("studentId", studentId);
+        newApp.put("serviceId", serviceId);
+        newApp.put("orgId", service.getOrgId());
+        newApp.put("orgName", service.getOrgName());
+        newApp.put("serviceTitle", service.getTitle());
+        newApp.put("status", "Pending");
+        newApp.put("appliedAt", Timestamp.now());
+        newApp.put("serviceDate", service.getServiceDate());
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot existing = transaction.get(appRef);
+            if (existing.exists() && existing.getString("status") != null) return false;
+
+            transaction.set(appRef, newApp, SetOptions.merge());
+            StatsCounters.applyStatusChange(transaction, db, service.getOrgId(), serviceId, null, "Pending", 1);
+            ActivityFeed.record(transaction, db, service.getOrgId(), ActivityFeed.TYPE_APPLICATION,
+                    ActivityFeed.applicationMessage(service.getTitle(), "Pending"), serviceId);
+            return true;
+        });
+    }
+
+    /**
+     * Moves a student's applications to deterministic IDs. For each service the most relevant
+     * application is kept (a decided one over a Pending one, then the most recent) and copied to
+     * "{studentId}_{serviceId}"; every other copy is deleted and taken out of the stats counters.
+     * Finally the user document is flagged so this runs only once.
+     * @param db The Firestore instance.
+     * @param userDoc The student's user document.
+     * @return A task resolving to the number of application documents removed.
+     */
+    public static Task<Integer> migrate(FirebaseFirestore db, DocumentSnapshot userDoc) {
+        if (Boolean.TRUE.equals(userDoc.getBoolean(FIELD_MIGRATED))) return Tasks.forResult(0);
+        String studentId = userDoc.getId();
+
+        return db.collection(COLLECTION).whereEqualTo("studentId", studentId).get().onSuccessTask(snapshot -> {
+            Map<String, List<DocumentSnapshot>> byService = new LinkedHashMap<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                String serviceId = doc.getString("serviceId");
+                if (serviceId == null || serviceId.isEmpty()) continue;
+                List<DocumentSnapshot> group = byService.get(serviceId);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    byService.put(serviceId, group);
+                }
+                group.add(doc);
+            }
+
+            List<Task<Void>> commits = new ArrayList<>();
+            WriteBatch batch = db.batch();
+            int inBatch = 0;
+            int removed = 0;
+
+            for (Map.Entry<String, List<DocumentSnapshot>> entry : byService.entrySet()) {
+                String serviceId = entry.getKey();
+                List<DocumentSnapshot> group = entry.getValue();
+                DocumentSnapshot target = findById(group, applicationId(studentId, serviceId));
+                if (group.size() == 1 && target != null) continue;
+
+                DocumentSnapshot best = group.get(0);
+                for (DocumentSnapshot doc : group) {
+                    best = chooseBest(best, doc);
+                }
+
+                if (best != target) {
+                    // Move the kept copy; its counters stay the same. An older copy under the target ID is overwritten.
+                    batch.set(applicationRef(db, studentId, serviceId), best.getData());
+                    batch.delete(best.getReference());
+                    inBatch += 2;
+                    if (target != null) {
+                        StatsCounters.applyStatusChange(batch, db, target.getString("orgId"), serviceId,
+                                target.getString("status"), null, 1);
+                        inBatch += 2;
+                        removed++;
+                    }
+                }
+
+                for (DocumentSnapshot doc : group) {
+                    if (doc == best || doc == target) continue;
+                    batch.delete(doc.getReference());
+                    StatsCounters.applyStatusChange(batch, db, doc.getString("orgId"), serviceId,
+                            doc.getString("status"), null, 1);
+                    inBatch += 3;
+                    removed++;
+
+                    if (inBatch >= BATCH_LIMIT - 10) {
+                        commits.add(batch.commit());
+                        batch = db.batch();
+                        inBatch = 0;
+                    }
+                }
+
+                if (inBatch >= BATCH_LIMIT - 10) {
+                    commits.add(batch.commit());
+                    batch = db.batch();
+                    inBatch = 0;
+                }
+            }
+
+            // Only flag the user once every batch has been committed
+            WriteBatch finalBatch = batch;
+            int finalRemoved = removed;
+            return Tasks.whenAll(commits).onSuccessTask(aVoid -> {
+                finalBatch.update(userDoc.getReference(), FIELD_MIGRATED, true);
+                return finalBatch.commit();
+            }).continueWith(task -> {
+                if (!task.isSuccessful()) throw task.getException();
+                Log.d(TAG, "Collapsed " + finalRemoved + " duplicate applications");
+                return finalRemoved;
+            });
+        });
+    }
+
+    /**
+     * Picks the application to keep between two copies for the same service.
+     * @return The one with higher priority (non-Pending over Pending, then the most recently applied).
+     */
+    private static DocumentSnapshot chooseBest(DocumentSnapshot app1, DocumentSnapshot app2) {
+        boolean isPending1 = "Pending".equals(app1.getString("status"));
+        boolean isPending2 = "Pending".equals(app2.getString("status"));
+
+        if (isPending1 && !isPending2) return app2;
+        if (!isPending1 && isPending2) return app1;
+
+        Date date1 = app1.getDate("appliedAt");
+        Date date2 = app2.getDate("appliedAt");
+
+        if (date1 == null) return app2;
+        if (date2 == null) return app1;
+
+        return date1.after(date2) ? app1 : app2;
+    }
+
+    @Nullable
+    private static DocumentSnapshot findById(List<DocumentSnapshot> docs, String id) {
+        for (DocumentSnapshot doc : docs) {
+            if (doc.getId().equals(id)) return doc;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rejects Pending applications in bulk: a selection of them, or every one left on a service.
+ * <p>
+ * Work is split into chunks of CHUNK_SIZE applications. Each chunk is one transaction that
+ * re-reads its applications and rejects only the ones still Pending, together with the matching
+ * stats counter deltas. An applicant accepted concurrently by ServiceSlots (which moves the
+ * counters and claims a slot) therefore makes the transaction retry and is then skipped, rather
+ * than being overwritten to Rejected. A chunk that fails is retried up to MAX_ATTEMPTS times;
+ * since only Pending applications are touched, a rerun after a failure simply continues.
+ */
+public final class BulkRejections {
+
+    private static final String TAG = "BulkRejections";
+    /**
+     * Applications per transaction: one write each plus three counter and feed writes per service,
+     * well under the 500-write limit, and few enough reads that the transaction rarely contends.
+     */
+    private static final int CHUNK_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private BulkRejections() {}
+
+    /**
+     * Rejects the given applications, skipping any that are missing or no longer Pending.
+     * @param db The Firestore instance.
+     * @param applicationIds The applications to reject.
+     * @param listener Notified after each chunk. May be null.
+     * @return A task resolving to the outcome; it does not fail, a failed chunk is reported in the result.
+     */
+    public static Task<BulkResult> reject(FirebaseFirestore db, List<String> applicationIds, @Nullable BulkResult.ProgressListener listener) {
+        List<List<String>> chunks = DocumentBatchFetcher.chunk(applicationIds, CHUNK_SIZE);
+        BulkResult result = new BulkResult(applicationIds.size());
+        return rejectChunks(db, chunks, 0, result, listener, 1).continueWith(task -> finish(result, task));
+    }
+
+    /**
+     * Rejects every Pending application of a service, one query page at a time.
+     * Applications that stopped being Pending before their page was rejected count as skipped.
+     * @param db The Firestore instance.
+     * @param serviceId The service.
+     * @param listener Notified after each chunk. May be null.
+     * @return A task resolving to the outcome; it does not fail, a failed chunk is reported in the result.
+     */
+    public static Task<BulkResult> rejectRemaining(FirebaseFirestore db, String serviceId, @Nullable BulkResult.ProgressListener listener) {
+        Query pending = db.collection(Applications.COLLECTION)
+                .whereEqualTo("serviceId", serviceId)
+                .whereEqualTo("status", "Pending");
+
+        BulkResult result = new BulkResult(0);
+        return pending.count().get(AggregateSource.SERVER)
+                .onSuccessTask(count -> {
+                    result.total = (int) count.getCount();
+                    return rejectPages(db, pending, null, result, listener, 1);
+                })
+                .continueWith(task -> finish(result, task));
+    }
+
+    /**
+     * Closes a service (if it is still Active) and then rejects all of its remaining Pending applications.
+     * @param db The Firestore instance.
+     * @param serviceId The service.
+     * @param listener Notified after each rejected chunk. May be null.
+     * @return A task resolving to the rejection outcome. If the close fails, nothing is rejected and the error is reported.
+     */
+    public static Task<BulkResult> closeAndRejectRemaining(FirebaseFirestore db, String serviceId, @Nullable BulkResult.ProgressListener listener) {
+        return closeService(db, serviceId).continueWithTask(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Could not close service " + serviceId, task.getException());
+                BulkResult result = new BulkResult(0);
+                result.error = task.getException();
+                return Tasks.forResult(result);
+            }
+            return rejectRemaining(db, serviceId, listener);
+        });
+    }
+
+    /**
+     * Sets an Active service to Closed and updates the Active service counter, in a transaction.
+     * @param db The Firestore instance.
+     * @param serviceId The service.
+     * @return A task resolving to true if this call closed the service, false if it was not Active.
+     */
+    public static Task<Boolean> closeService(FirebaseFirestore db, String serviceId) {
+        DocumentReference serviceRef = db.collection("services").document(serviceId);
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot serviceSnapshot = transaction.get(serviceRef);
+            if (!serviceSnapshot.exists() || !"Active".equals(serviceSnapshot.getString("status"))) return false;
+
+            transaction.update(serviceRef, "status", "Closed");
+            StatsCounters.applyActiveServiceChange(transaction, db, serviceSnapshot.getString("orgId"), -1);
+            return true;
+        });
+    }
+
+    private static Task<Void> rejectChunks(FirebaseFirestore db, List<List<String>> chunks, int index,
+                                           BulkResult result, @Nullable BulkResult.ProgressListener listener, int attempt) {
+        if (index >= chunks.size()) return Tasks.forResult(null);
+
+        List<String> chunk = chunks.get(index);
+        List<DocumentReference> refs = new ArrayList<>();
+        for (String applicationId : chunk) refs.add(db.collection(Applications.COLLECTION).document(applicationId));
+
+        return rejectPending(db, refs)
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        if (attempt < MAX_ATTEMPTS) {
+                            Log.w(TAG, "Chunk failed, retrying (attempt " + attempt + ")", task.getException());
+                            return rejectChunks(db, chunks, index, result, listener, attempt + 1);
+                        }
+                        return Tasks.<Void>forException(task.getException());
+                    }
+
+                    int rejected = task.getResult();
+                    result.succeeded += rejected;
+                    result.skipped += chunk.size() - rejected;
+                    if (listener != null) listener.onProgress(result.succeeded, result.succeeded + result.skipped, result.total);
+                    return rejectChunks(db, chunks, index + 1, result, listener, 1);
+                });
+    }
+
+    /**
+     * Rejects the next page of the query and moves on until a page comes back empty.
+     * Applications on a page that are no longer Pending (accepted or withdrawn concurrently) stay
+     * in the query, so each page starts after the last document of the previous one.
+     * @param after The last document of the previous page, or null for the first page.
+     */
+    private static Task<Void> rejectPages(FirebaseFirestore db, Query pending, @Nullable DocumentSnapshot after, BulkResult result,
+                                          @Nullable BulkResult.ProgressListener listener, int attempt) {
+        Query page = (after != null) ? pending.startAfter(after) : pending;
+        return page.limit(CHUNK_SIZE).get()
+                .onSuccessTask(snapshot -> {
+                    if (snapshot.isEmpty()) return Tasks.forResult((PageResult) null);
+                    List<DocumentSnapshot> docs = snapshot.getDocuments();
+                    List<DocumentReference> refs = new ArrayList<>();
+                    for (DocumentSnapshot doc : docs) refs.add(doc.getReference());
+                    DocumentSnapshot last = docs.get(docs.size() - 1);
+                    return rejectPending(db, refs).onSuccessTask(rejected -> Tasks.forResult(new PageResult(refs.size(), rejected, last)));
+                })
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        if (attempt < MAX_ATTEMPTS) {
+                            Log.w(TAG, "Page failed, retrying (attempt " + attempt + ")", task.getException());
+                            return rejectPages(db, pending, after, result, listener, attempt + 1);
+                        }
+                        return Tasks.<Void>forException(task.getException());
+                    }
+
+                    PageResult pageResult = task.getResult();
+                    if (pageResult == null) return Tasks.<Void>forResult(null);
+
+                    result.succeeded += pageResult.rejected;
+                    result.skipped += pageResult.size - pageResult.rejected;
+                    result.total = Math.max(result.total, result.succeeded + result.skipped);
+                    if (listener != null) listener.onProgress(result.succeeded, result.succeeded + result.skipped, result.total);
+                    return rejectPages(db, pending, pageResult.last, result, listener, 1);
+                });
+    }
+
+    /**
+     * Rejects the still-Pending applications among the given documents in one transaction, with their counter deltas.
+     * All applications are read first, so a concurrent status change makes the transaction retry on fresh data.
+     * @return A task resolving to the number of applications rejected.
+     */
+    private static Task<Integer> rejectPending(FirebaseFirestore db, List<DocumentReference> refs) {
+        return db.runTransaction(transaction -> {
+            List<DocumentSnapshot> docs = new ArrayList<>();
+            for (DocumentReference ref : refs) docs.add(transaction.get(ref));
+            return rejectPending(transaction, db, docs);
+        });
+    }
+
+    /**
+     * Writes the rejections for the docs that are still Pending. Must run after all of the transaction's reads.
+     * @return The number of applications rejected.
+     */
+    private static int rejectPending(Transaction transaction, FirebaseFirestore db, List<DocumentSnapshot> docs) {
+        Map<String, Integer> countByService = new HashMap<>();
+        Map<String, String> orgByService = new HashMap<>();
+        Map<String, String> titleByService = new HashMap<>();
+
+        for (DocumentSnapshot doc : docs) {
+            if (!doc.exists() || !"Pending".equals(doc.getString("status"))) continue;
+            transaction.update(doc.getReference(), "status", "Rejected");
+
+            String serviceId = doc.getString("serviceId");
+            Integer count = countByService.get(serviceId);
+            countByService.put(serviceId, (count == null) ? 1 : count + 1);
+            orgByService.put(serviceId, doc.getString("orgId"));
+            titleByService.put(serviceId, doc.getString("serviceTitle"));
+        }
+
+        int rejected = 0;
+        for (Map.Entry<String, Integer> entry : countByService.entrySet()) {
+            String serviceId = entry.getKey();
+            int count = entry.getValue();
+            StatsCounters.applyStatusChange(transaction, db, orgByService.get(serviceId), serviceId, "Pending", "Rejected", count);
+            ActivityFeed.record(transaction, db, orgByService.get(serviceId), ActivityFeed.TYPE_STATUS,
+                    (count == 1) ? ActivityFeed.applicationMessage(titleByService.get(serviceId), "Rejected")
+                            : ActivityFeed.bulkMessage(titleByService.get(serviceId), "Rejected", count),
+                    serviceId);
+            rejected += count;
+        }
+        return rejected;
+    }
+
+    /**
+     * The outcome of one page of rejectPages(), and where the next page starts.
+     */
+    private static class PageResult {
+        final int size;
+        final int rejected;
+        final DocumentSnapshot last;
+
+        PageResult(int size, int rejected, DocumentSnapshot last) {
+            this.size = size;
+            this.rejected = rejected;
+            this.last = last;
+        }
+    }
+
+    private static BulkResult finish(BulkResult result, Task<?> task) {
+        if (!task.isSuccessful()) result.error = task.getException();
+        Log.d("NFRTest", "Bulk reject: " + result.succeeded + " rejected, " + result.skipped + " skipped");
+        return result;
+    }
+}
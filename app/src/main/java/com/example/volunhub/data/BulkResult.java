@@ -0,0 +1,38 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.Nullable;
+
+/**
+ * The outcome of a bulk operation on applications (accept all, reject selected, reject the rest).
+ * Bulk operations run in chunks and never fail as a whole: a chunk that keeps failing stops the
+ * run and is reported in error, with the counts of everything committed before it.
+ */
+public class BulkResult {
+
+    /**
+     * Receives progress after each committed chunk, on the main thread.
+     */
+    public interface ProgressListener {
+        /**
+         * @param succeeded Applications changed so far.
+         * @param processed Applications changed or skipped so far.
+         * @param total Applications in the request, as far as known.
+         */
+        void onProgress(int succeeded, int processed, int total);
+    }
+
+    /** Applications in the request. */
+    public int total;
+    /** Applications changed by this run. */
+    public int succeeded = 0;
+    /** Applications skipped because they were missing or no longer Pending. */
+    public int skipped = 0;
+    /** True if an accept run stopped because the service has no free slot left. */
+    public boolean full = false;
+    /** The failure that stopped the run early, if any. Rerunning continues from there. */
+    @Nullable public Exception error;
+
+    BulkResult(int total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.volunhub.data;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads many documents of one collection by ID using chunked whereIn(documentId) queries.
+ * N IDs cost ceil(N / WHERE_IN_LIMIT) round trips, all issued in parallel, instead of N single gets.
+ */
+public final class DocumentBatchFetcher {
+
+    /** Maximum number of values Firestore accepts in a single whereIn filter. */
+    public static final int WHERE_IN_LIMIT = 30;
+
+    /**
+     * Starts the read for one chunk of IDs.
+     * @param <R> The pending result of the read, e.g. a Task.
+     */
+    public interface ChunkQuery<R> {
+        /**
+         * @param chunk At most WHERE_IN_LIMIT unique, non-empty IDs.
+         * @return The started read.
+         */
+        R query(List<String> chunk);
+    }
+
+    private DocumentBatchFetcher() {}
+
+    /**
+     * Splits the IDs into chunks no larger than the given size.
+     * Null, empty and duplicate IDs are dropped; the first-seen order is kept.
+     * @param ids The document IDs to split.
+     * @param chunkSize The maximum size of each chunk.
+     * @return The list of chunks (empty if there are no usable IDs).
+     */
+    public static List<List<String>> chunk(Collection<String> ids, int chunkSize) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !id.trim().isEmpty()) unique.add(id);
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        for (String id : unique) {
+            current.add(id);
+            if (current.size() == chunkSize) {
+                chunks.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        if (!current.isEmpty()) chunks.add(current);
+        return chunks;
+    }
+
+    /**
+     * Starts one query per chunk of WHERE_IN_LIMIT IDs, so N usable IDs cost ceil(N / WHERE_IN_LIMIT) round trips.
+     * @param ids The document IDs to fetch; null, empty and duplicate IDs are dropped.
+     * @param chunkQuery Starts the read for one chunk.
+     * @return The started reads, one per chunk, in chunk order.
+     */
+    public static <R> List<R> dispatch(Collection<String> ids, ChunkQuery<R> chunkQuery) {
+        List<R> queries = new ArrayList<>();
+        for (List<String> chunk : chunk(ids, WHERE_IN_LIMIT)) {
+            queries.add(chunkQuery.query(chunk));
+        }
+        return queries;
+    }
+
+    /**
+     * Fetches the documents with the given IDs from the collection.
+     * Documents that do not exist are simply absent from the result map.
+     * @param collection The collection to read from.
+     * @param ids The document IDs to fetch.
+     * @return A task resolving to a map of document ID to snapshot.
+     */
+    public static Task<Map<String, DocumentSnapshot>> fetch(CollectionReference collection, Collection<String> ids) {
+        return fetch(collection, ids, Source.DEFAULT);
+    }
+
+    /**
+     * Fetches the documents with the given IDs from the collection, reading from the given source.
+     * @param collection The collection to read from.
+     * @param ids The document IDs to fetch.
+     * @param source Where to read from, e.g. Source.CACHE to use only the local cache.
+     * @return A task resolving to a map of document ID to snapshot.
+     */
+    public static Task<Map<String, DocumentSnapshot>> fetch(CollectionReference collection, Collection<String> ids, Source source) {
+        List<Task<QuerySnapshot>> queries = dispatch(ids,
+                chunk -> collection.whereIn(FieldPath.documentId(), chunk).get(source));
+        if (queries.isEmpty()) return Tasks.forResult(new HashMap<>());
+
+        return Tasks.whenAllSuccess(queries).continueWith(task -> {
+            Map<String, DocumentSnapshot> byId = new HashMap<>();
+            for (Object result : task.getResult()) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) result).getDocuments()) {
+                    byId.put(doc.getId(), doc);
+                }
+            }
+            return byId;
+        });
+    }
+}
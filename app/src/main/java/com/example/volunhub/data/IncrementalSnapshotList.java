@@ -0,0 +1,241 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A sorted list of models kept in step with one or more Firestore queries by applying each
+ * snapshot's DocumentChanges, instead of rebuilding the list from getDocuments() every time.
+ * <ul>
+ *     <li>Only added and modified documents are mapped (and so deserialized).</li>
+ *     <li>Items are kept sorted by binary insertion; ties are broken by document path so the
+ *     order is total and every item can be found by binary search.</li>
+ *     <li>Every insert, removal, move and change is reported to an optional ListUpdateCallback,
+ *     e.g. an AdapterListUpdateCallback for precise RecyclerView notifications.</li>
+ * </ul>
+ * Items are keyed by document path, so documents of different collections can share one list.
+ * @param <T> The model type.
+ */
+public class IncrementalSnapshotList<T> {
+
+    /**
+     * Turns a document into a model.
+     * @param <T> The model type.
+     */
+    public interface Mapper<T> {
+        /**
+         * @param doc The added or modified document.
+         * @return The model, or null if the document should not be in the list.
+         */
+        @Nullable
+        T map(DocumentSnapshot doc);
+    }
+
+    private final Mapper<T> mapper;
+    private final Comparator<T> comparator;
+    private final List<T> items = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, T> itemsByKey = new HashMap<>();
+    @Nullable
+    private ListUpdateCallback updateCallback;
+    private boolean keepRemoved = false;
+    private boolean resyncPending = false;
+
+    /**
+     * @param mapper Maps added and modified documents to models.
+     * @param comparator The display order.
+     */
+    public IncrementalSnapshotList(Mapper<T> mapper, Comparator<T> comparator) {
+        this.mapper = mapper;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sets the receiver of positional change notifications.
+     * @param updateCallback The callback, or null for none.
+     */
+    public void setUpdateCallback(@Nullable ListUpdateCallback updateCallback) {
+        this.updateCallback = updateCallback;
+    }
+
+    /**
+     * Makes the list ignore REMOVED changes. For append-only feeds read through a limited
+     * listener: a document that drops out of the listener's window is still shown.
+     * @param keepRemoved True to keep items whose documents leave the query.
+     */
+    public void setKeepRemoved(boolean keepRemoved) {
+        this.keepRemoved = keepRemoved;
+    }
+
+    /**
+     * Marks the next applied snapshot as a complete result, e.g. the first one of a re-attached
+     * listener: items whose documents are not in it are removed, since their REMOVED changes were
+     * missed while the listener was detached.
+     */
+    public void resync() {
+        resyncPending = true;
+    }
+
+    /**
+     * Applies the document changes of one snapshot.
+     * @param snapshot A snapshot of a query feeding this list.
+     * @return The items that were added or replaced, in change order.
+     */
+    public List<T> apply(QuerySnapshot snapshot) {
+        if (resyncPending) {
+            resyncPending = false;
+            if (!keepRemoved) removeAbsent(snapshot);
+        }
+
+        List<T> changed = new ArrayList<>();
+        for (DocumentChange change : snapshot.getDocumentChanges()) {
+            DocumentSnapshot doc = change.getDocument();
+            String key = doc.getReference().getPath();
+
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                if (!keepRemoved) remove(key);
+                continue;
+            }
+
+            T item = mapper.map(doc);
+            if (item == null) {
+                remove(key);
+            } else {
+                upsert(key, item);
+                changed.add(item);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes every item.
+     */
+    public void clear() {
+        int size = items.size();
+        items.clear();
+        keys.clear();
+        itemsByKey.clear();
+        if (size > 0 && updateCallback != null) updateCallback.onRemoved(0, size);
+    }
+
+    /**
+     * @return A read-only live view of the items, in display order.
+     */
+    public List<T> items() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * @return A copy of the items, suitable for ListAdapter.submitList().
+     */
+    public List<T> snapshot() {
+        return new ArrayList<>(items);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    private void removeAbsent(QuerySnapshot snapshot) {
+        Set<String> present = new HashSet<>();
+        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+            present.add(doc.getReference().getPath());
+        }
+        for (String key : new ArrayList<>(keys)) {
+            if (!present.contains(key)) remove(key);
+        }
+    }
+
+    private void upsert(String key, T item) {
+        int oldIndex = indexOf(key);
+        if (oldIndex == -1) {
+            int index = insertionPoint(key, item);
+            insertAt(index, key, item);
+            if (updateCallback != null) updateCallback.onInserted(index, 1);
+            return;
+        }
+
+        items.remove(oldIndex);
+        keys.remove(oldIndex);
+        int newIndex = insertionPoint(key, item);
+        insertAt(newIndex, key, item);
+
+        if (updateCallback != null) {
+            if (newIndex != oldIndex) updateCallback.onMoved(oldIndex, newIndex);
+            updateCallback.onChanged(newIndex, 1, null);
+        }
+    }
+
+    private void remove(String key) {
+        int index = indexOf(key);
+        if (index == -1) return;
+        items.remove(index);
+        keys.remove(index);
+        itemsByKey.remove(key);
+        if (updateCallback != null) updateCallback.onRemoved(index, 1);
+    }
+
+    private void insertAt(int index, String key, T item) {
+        items.add(index, item);
+        keys.add(index, key);
+        itemsByKey.put(key, item);
+    }
+
+    /**
+     * Finds the current position of a key by binary search on its stored item.
+     * @return The position, or -1 if the key is not in the list.
+     */
+    private int indexOf(String key) {
+        T item = itemsByKey.get(key);
+        if (item == null) return -1;
+        int index = binarySearch(key, item);
+        return index >= 0 ? index : -1;
+    }
+
+    private int insertionPoint(String key, T item) {
+        int index = binarySearch(key, item);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * Binary search in the same contract as Collections.binarySearch.
+     * @return The index if found, otherwise (-(insertion point) - 1).
+     */
+    private int binarySearch(@NonNull String key, @NonNull T item) {
+        int low = 0;
+        int high = items.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = comparator.compare(items.get(mid), item);
+            if (cmp == 0) cmp = keys.get(mid).compareTo(key);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
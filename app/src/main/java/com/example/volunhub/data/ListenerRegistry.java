@@ -0,0 +1,171 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Owns a screen's Firestore snapshot listeners and ties them to a lifecycle, usually
+ * getViewLifecycleOwner().
+ * <ul>
+ *     <li>Listeners run while the lifecycle is at least the active state, and are removed (but
+ *     remembered) below it, so a stopped screen stops costing reads. They are re-attached when
+ *     the screen comes back. Within about 30 minutes of the removal Firestore resumes them
+ *     without billing unchanged documents again; after that the full result is read again.</li>
+ *     <li>bindToTab() uses RESUMED as the active state. ViewPager2 caps offscreen tabs at
+ *     STARTED, so only the visible tab listens.</li>
+ *     <li>Everything is removed when the lifecycle is destroyed; no onDestroyView cleanup is needed.</li>
+ * </ul>
+ * Listeners are keyed, so adding one under an existing key replaces it (e.g. to widen a limit).
+ * Because a listener can be re-attached, its first snapshot after a restart holds the full
+ * result again; IncrementalSnapshotList.resync() handles documents removed in the meantime.
+ * All methods must be called on the main thread.
+ */
+public final class ListenerRegistry implements DefaultLifecycleObserver {
+
+    /**
+     * Attaches one snapshot listener.
+     */
+    public interface Starter {
+        /**
+         * @return The registration of the listener that was just added.
+         */
+        ListenerRegistration start();
+    }
+
+    private static final String TAG = "ListenerRegistry";
+    private static int totalActiveCount = 0;
+
+    private final Lifecycle lifecycle;
+    private final Lifecycle.State activeState;
+    private final Map<String, Starter> starters = new LinkedHashMap<>();
+    private final Map<String, ListenerRegistration> active = new HashMap<>();
+    private boolean destroyed = false;
+
+    private ListenerRegistry(LifecycleOwner owner, Lifecycle.State activeState) {
+        this.lifecycle = owner.getLifecycle();
+        this.activeState = activeState;
+        lifecycle.addObserver(this);
+    }
+
+    /**
+     * @param owner The lifecycle to follow, usually getViewLifecycleOwner().
+     * @return A registry whose listeners run between onStart and onStop.
+     */
+    public static ListenerRegistry bind(LifecycleOwner owner) {
+        return new ListenerRegistry(owner, Lifecycle.State.STARTED);
+    }
+
+    /**
+     * @param owner The lifecycle of a ViewPager2 tab's view.
+     * @return A registry whose listeners run only while the tab is resumed, i.e. visible.
+     */
+    public static ListenerRegistry bindToTab(LifecycleOwner owner) {
+        return new ListenerRegistry(owner, Lifecycle.State.RESUMED);
+    }
+
+    /**
+     * Registers a listener, replacing any under the same key. It starts right away if the lifecycle is active.
+     * @param key Identifies the listener within this registry.
+     * @param starter Attaches the listener; called again each time the lifecycle becomes active.
+     */
+    public void add(String key, Starter starter) {
+        remove(key);
+        if (destroyed) return;
+        starters.put(key, starter);
+        if (lifecycle.getCurrentState().isAtLeast(activeState)) start(key, starter);
+    }
+
+    /**
+     * Removes a listener for good.
+     * @param key The key it was added under.
+     */
+    public void remove(String key) {
+        starters.remove(key);
+        stop(key);
+    }
+
+    /**
+     * @return The number of listeners of this registry currently attached to Firestore.
+     */
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     * @return The number of listeners registered, attached or paused.
+     */
+    public int getRegisteredCount() {
+        return starters.size();
+    }
+
+    /**
+     * @return The number of listeners attached across all registries; for leak detection.
+     */
+    public static int getTotalActiveCount() {
+        return totalActiveCount;
+    }
+
+    @Override
+    public void onStart(@NonNull LifecycleOwner owner) {
+        if (activeState == Lifecycle.State.STARTED) startAll();
+    }
+
+    @Override
+    public void onResume(@NonNull LifecycleOwner owner) {
+        if (activeState == Lifecycle.State.RESUMED) startAll();
+    }
+
+    @Override
+    public void onPause(@NonNull LifecycleOwner owner) {
+        if (activeState == Lifecycle.State.RESUMED) stopAll();
+    }
+
+    @Override
+    public void onStop(@NonNull LifecycleOwner owner) {
+        if (activeState == Lifecycle.State.STARTED) stopAll();
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        stopAll();
+        starters.clear();
+        destroyed = true;
+        lifecycle.removeObserver(this);
+        Log.d(TAG, "Destroyed; listeners still attached app-wide: " + totalActiveCount);
+    }
+
+    private void startAll() {
+        for (Map.Entry<String, Starter> entry : starters.entrySet()) {
+            if (!active.containsKey(entry.getKey())) start(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void stopAll() {
+        for (String key : new ArrayList<>(active.keySet())) {
+            stop(key);
+        }
+    }
+
+    private void start(String key, Starter starter) {
+        active.put(key, starter.start());
+        totalActiveCount++;
+    }
+
+    private void stop(String key) {
+        ListenerRegistration registration = active.remove(key);
+        if (registration == null) return;
+        registration.remove();
+        totalActiveCount--;
+    }
+}
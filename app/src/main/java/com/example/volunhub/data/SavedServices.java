@@ -0,0 +1,111 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A student's saved services, stored as "users/{uid}/saved/{serviceId}" documents with a
+ * "savedAt" timestamp. Checking one service is a single-document read, the saved tab pages by
+ * "savedAt", and the user document no longer grows with every saved service.
+ * <p>
+ * Older accounts kept the IDs in a "savedServices" array on the user document;
+ * migrate() moves them over once.
+ */
+public final class SavedServices {
+
+    public static final String SAVED = "saved";
+    public static final String FIELD_SAVED_AT = "savedAt";
+
+    /** The array field used before the subcollection existed. */
+    public static final String LEGACY_FIELD = "savedServices";
+
+    private static final String TAG = "SavedServices";
+    private static final int BATCH_LIMIT = 500;
+
+    private SavedServices() {}
+
+    public static CollectionReference savedCollection(FirebaseFirestore db, String uid) {
+        return db.collection("users").document(uid).collection(SAVED);
+    }
+
+    public static DocumentReference savedRef(FirebaseFirestore db, String uid, String serviceId) {
+        return savedCollection(db, uid).document(serviceId);
+    }
+
+    /**
+     * Saves a service for the student.
+     * @return A task that completes when the write is committed.
+     */
+    public static Task<Void> save(FirebaseFirestore db, String uid, String serviceId) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_SAVED_AT, FieldValue.serverTimestamp());
+        return savedRef(db, uid, serviceId).set(data);
+    }
+
+    /**
+     * Removes a service from the student's saved list.
+     * @return A task that completes when the delete is committed.
+     */
+    public static Task<Void> unsave(FirebaseFirestore db, String uid, String serviceId) {
+        return savedRef(db, uid, serviceId).delete();
+    }
+
+    /**
+     * Moves a legacy "savedServices" array into the subcollection and deletes the array.
+     * The array was appended to, so its order is kept by giving each entry a savedAt one
+     * millisecond after the previous one.
+     * @param db The Firestore instance.
+     * @param userDoc The student's user document.
+     * @return A task that completes when the migration is committed (immediately if there is nothing to move).
+     */
+    public static Task<Void> migrate(FirebaseFirestore db, DocumentSnapshot userDoc) {
+        Object field = userDoc.get(LEGACY_FIELD);
+        if (field == null) return Tasks.forResult(null);
+
+        List<String> ids = new ArrayList<>();
+        if (field instanceof List) {
+            for (Object id : (List<?>) field) {
+                if (id instanceof String && !ids.contains(id)) ids.add((String) id);
+            }
+        }
+
+        String uid = userDoc.getId();
+        long base = System.currentTimeMillis() - ids.size();
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int inBatch = 0;
+
+        for (int i = 0; i < ids.size(); i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put(FIELD_SAVED_AT, new Timestamp(new Date(base + i)));
+            batch.set(savedRef(db, uid, ids.get(i)), data);
+            if (++inBatch == BATCH_LIMIT - 1) {
+                commits.add(batch.commit());
+                batch = db.batch();
+                inBatch = 0;
+            }
+        }
+
+        // Only drop the array once every entry has been copied
+        WriteBatch finalBatch = batch;
+        return Tasks.whenAll(commits).onSuccessTask(aVoid -> {
+            finalBatch.update(userDoc.getReference(), LEGACY_FIELD, FieldValue.delete());
+            return finalBatch.commit();
+        }).addOnSuccessListener(aVoid -> Log.d(TAG, "Migrated " + ids.size() + " saved services"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.volunhub.data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds the "searchKeywords" array stored on every service document.
+ * Each word of the title and description is lowercased and stored with all of its prefixes,
+ * so a single array-contains query matches a word that starts anywhere in the text
+ * ("clea" finds "Beach Cleanup").
+ */
+public final class SearchKeywords {
+
+    public static final String FIELD = "searchKeywords";
+
+    /** Words and queries are cut to this length, keeping long words from bloating the index. */
+    public static final int MAX_PREFIX_LENGTH = 15;
+
+    /** Prefixes shorter than this are not indexed; single letters match almost everything. */
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    /** Upper bound on the array size, so very long descriptions stay cheap to index. */
+    private static final int MAX_KEYWORDS = 300;
+
+    private SearchKeywords() {}
+
+    /**
+     * Builds the keyword array for a service.
+     * Title words are added first, so they are kept if the description hits the size cap.
+     * @param title The service title.
+     * @param description The service description (may be null).
+     * @return The distinct keywords and keyword prefixes.
+     */
+    public static List<String> build(String title, String description) {
+        Set<String> keywords = new LinkedHashSet<>();
+        addPrefixes(keywords, tokenize(title));
+        addPrefixes(keywords, tokenize(description));
+        return new ArrayList<>(keywords);
+    }
+
+    /**
+     * Splits text into normalized words, cut to MAX_PREFIX_LENGTH.
+     * Words shorter than MIN_PREFIX_LENGTH are dropped.
+     * @param text The raw text (may be null).
+     * @return The distinct words in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) return new ArrayList<>();
+
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() < MIN_PREFIX_LENGTH) continue;
+            tokens.add(word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word);
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static void addPrefixes(Set<String> keywords, List<String> words) {
+        for (String word : words) {
+            for (int length = MIN_PREFIX_LENGTH; length <= word.length(); length++) {
+                if (keywords.size() >= MAX_KEYWORDS) return;
+                keywords.add(word.substring(0, length));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the "searchKeywords" array on services posted before keyword search existed.
+ * Runs per organization, since an organization may only update its own services.
+ * Once done, the organization's user document is flagged with FIELD_BACKFILLED, so the services
+ * are only downloaded for this once per organization rather than on every app start.
+ */
+public class SearchKeywordsBackfill {
+
+    /** Set on the organization's user document once its services all have keywords. */
+    public static final String FIELD_BACKFILLED = "searchKeywordsBackfilled";
+
+    private static final String TAG = "SearchKeywordsBackfill";
+    private static final int BATCH_LIMIT = 500;
+
+    private final FirebaseFirestore db;
+
+    public SearchKeywordsBackfill(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Adds keywords to every service of the organization that does not have them yet, then flags
+     * the organization. Does nothing if it is already flagged.
+     * @param orgDoc The organization's user document.
+     * @return A task resolving to the number of services updated.
+     */
+    public Task<Integer> backfillOrg(DocumentSnapshot orgDoc) {
+        if (Boolean.TRUE.equals(orgDoc.getBoolean(FIELD_BACKFILLED))) return Tasks.forResult(0);
+        String orgId = orgDoc.getId();
+
+        return db.collection("services").whereEqualTo("orgId", orgId).get()
+                .onSuccessTask(snapshot -> {
+                    List<Task<Void>> commits = new ArrayList<>();
+                    WriteBatch batch = db.batch();
+                    int inBatch = 0;
+                    int updated = 0;
+
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        if (doc.contains(SearchKeywords.FIELD)) continue;
+
+                        List<String> keywords = SearchKeywords.build(doc.getString("title"), doc.getString("description"));
+                        batch.update(doc.getReference(), SearchKeywords.FIELD, keywords);
+                        updated++;
+                        if (++inBatch == BATCH_LIMIT) {
+                            commits.add(batch.commit());
+                            batch = db.batch();
+                            inBatch = 0;
+                        }
+                    }
+
+                    // Only flag the organization once every batch has been committed; a failure is retried next start
+                    WriteBatch finalBatch = batch;
+                    int total = updated;
+                    return Tasks.whenAll(commits).onSuccessTask(aVoid -> {
+                        finalBatch.update(orgDoc.getReference(), FIELD_BACKFILLED, true);
+                        return finalBatch.commit();
+                    }).onSuccessTask(aVoid -> {
+                        if (total > 0) Log.d(TAG, "Backfilled keywords for " + total + " services");
+                        return Tasks.forResult(total);
+                    });
+                });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.volunhub.data;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.models.Service;
+
+/**
+ * A small in-memory cache of Service objects the list screens have already loaded.
+ * A list puts the tapped service here before navigating, so the detail screen can render it in
+ * the first frame and refresh it from Firestore in the background.
+ */
+public final class ServiceCache {
+
+    private static final int MAX_ENTRIES = 50;
+    private static final LruCache<String, Service> services = new LruCache<>(MAX_ENTRIES);
+
+    private ServiceCache() {}
+
+    /**
+     * Caches a service under its document ID. Services without an ID are ignored.
+     * @param service The loaded service.
+     */
+    public static void put(@Nullable Service service) {
+        if (service == null || service.getDocumentId() == null) return;
+        services.put(service.getDocumentId(), service);
+    }
+
+    /**
+     * @param serviceId The service's document ID.
+     * @return The cached service, or null if it is not cached.
+     */
+    @Nullable
+    public static Service get(String serviceId) {
+        return services.get(serviceId);
+    }
+
+    /**
+     * Drops a service, e.g. once it is known to have been deleted.
+     * @param serviceId The service's document ID.
+     */
+    public static void remove(String serviceId) {
+        services.remove(serviceId);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks whether "services" documents still exist.
+ * Watched IDs are grouped into chunked whereIn(documentId) snapshot listeners, so N services cost
+ * ceil(N / 30) listeners and N initial reads instead of one get() per row per event. After that
+ * only deletions and re-creations are delivered. Known answers are cached for the app session,
+ * so a recreated screen can show them before its listeners attach.
+ */
+public class ServiceExistenceWatcher {
+
+    /**
+     * Receives existence changes. Called on the main thread.
+     */
+    public interface Listener {
+        /**
+         * @param serviceIds The services whose existence is now known or has changed.
+         */
+        void onExistenceChanged(Set<String> serviceIds);
+    }
+
+    private static final Map<String, Boolean> sessionCache = new HashMap<>();
+
+    private final FirebaseFirestore db;
+    private final Listener listener;
+    private final Set<String> watchedIds = new HashSet<>();
+    private final List<ListenerRegistration> registrations = new ArrayList<>();
+
+    public ServiceExistenceWatcher(FirebaseFirestore db, Listener listener) {
+        this.db = db;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts watching the given services. IDs already watched are skipped.
+     * @param serviceIds The service IDs to watch.
+     */
+    public void watch(Collection<String> serviceIds) {
+        List<String> newIds = new ArrayList<>();
+        for (String serviceId : serviceIds) {
+            if (serviceId != null && !watchedIds.contains(serviceId)) newIds.add(serviceId);
+        }
+        if (newIds.isEmpty()) return;
+        watchedIds.addAll(newIds);
+
+        for (List<String> chunk : DocumentBatchFetcher.chunk(newIds, DocumentBatchFetcher.WHERE_IN_LIMIT)) {
+            registrations.add(db.collection("services")
+                    .whereIn(FieldPath.documentId(), chunk)
+                    .addSnapshotListener(MetadataChanges.INCLUDE, (snapshot, error) -> {
+                        if (error != null || snapshot == null) return;
+                        // A cached snapshot may simply not hold a service yet; wait for the server
+                        if (snapshot.getMetadata().isFromCache()) return;
+
+                        Set<String> present = new HashSet<>();
+                        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                            present.add(doc.getId());
+                        }
+
+                        Set<String> changed = new HashSet<>();
+                        for (String serviceId : chunk) {
+                            Boolean exists = present.contains(serviceId);
+                            if (!exists.equals(sessionCache.put(serviceId, exists))) changed.add(serviceId);
+                        }
+                        if (!changed.isEmpty()) listener.onExistenceChanged(changed);
+                    }));
+        }
+    }
+
+    /**
+     * @param serviceId The service ID.
+     * @return True if the service is known to have been deleted, false if it exists,
+     * or null if it has not been checked yet.
+     */
+    @Nullable
+    public Boolean isRemoved(String serviceId) {
+        Boolean exists = sessionCache.get(serviceId);
+        return exists == null ? null : !exists;
+    }
+
+    /**
+     * Removes all listeners. The session cache keeps its answers.
+     */
+    public void stop() {
+        for (ListenerRegistration registration : registrations) {
+            registration.remove();
+        }
+        registrations.clear();
+        watchedIds.clear();
+    }
+}
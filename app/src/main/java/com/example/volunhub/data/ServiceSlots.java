@@ -0,0 +1,350 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskExecutors;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Volunteer capacity of a service, kept as one "slot" document per place:
+ * "services/{serviceId}/slots/{0 .. volunteersNeeded-1}".
+ * <p>
+ * Accepting an applicant claims a free slot in a transaction that reads only that slot and the
+ * application, and bumps "volunteersApplied" with a blind increment. Two organizers accepting at
+ * the same time only conflict if they pick the same slot, which is picked at random among the
+ * free ones, and a service can never take more volunteers than it has slots.
+ * <p>
+ * Slots are never freed, so once they are all taken the service is full for good. Whoever sees
+ * that first closes it and rejects the rest; the close is a transaction on the service and
+ * happens only once.
+ */
+public final class ServiceSlots {
+
+    public static final String SLOTS = "slots";
+
+    private static final String TAG = "ServiceSlots";
+    /** Applications per bulk-accept transaction: 2 writes each plus 3, well under the 500-write limit. */
+    private static final int CHUNK_SIZE = 50;
+    private static final Random random = new Random();
+
+    private ServiceSlots() {}
+
+    public static CollectionReference slotsCollection(FirebaseFirestore db, String serviceId) {
+        return db.collection("services").document(serviceId).collection(SLOTS);
+    }
+
+    public static DocumentReference slotRef(FirebaseFirestore db, String serviceId, int index) {
+        return slotsCollection(db, serviceId).document(String.valueOf(index));
+    }
+
+    /**
+     * Accepts one Pending application by claiming a free slot of its service.
+     * The retries and the close are done by SlotClaim.accept(); this supplies the Firestore side.
+     * @param db The Firestore instance.
+     * @param serviceId The service.
+     * @param applicationId The Pending application to accept.
+     * @return A task that completes when the application is accepted; it fails if the service is full (see isFull()).
+     */
+    public static Task<Void> accept(FirebaseFirestore db, String serviceId, String applicationId) {
+        return loadService(db, serviceId).onSuccessTask(service ->
+                SlotClaim.accept(new FirestoreSlots(db, service, applicationId), random, TaskExecutors.MAIN_THREAD));
+    }
+
+    /**
+     * Accepts several Pending applications in list order until the service is full, in chunks of
+     * CHUNK_SIZE. Each chunk is one transaction that re-reads its applications and the slots it
+     * claims, so capacity is reserved atomically and applications that are no longer Pending are
+     * skipped. That also makes a rerun after a failure pick up where the last one stopped.
+     * @param db The Firestore instance.
+     * @param serviceId The service.
+     * @param applicationIds The applications to accept, in order of preference.
+     * @param listener Notified after each chunk, on the main thread. May be null.
+     * @return A task resolving to the outcome; it does not fail, a failed chunk is reported in the result.
+     */
+    public static Task<BulkResult> acceptAll(FirebaseFirestore db, String serviceId, List<String> applicationIds,
+                                             @Nullable BulkResult.ProgressListener listener) {
+        BulkResult result = new BulkResult(applicationIds.size());
+        return loadService(db, serviceId)
+                .onSuccessTask(service -> acceptChunks(db, service, new ArrayList<>(applicationIds), result, listener, 1))
+                .continueWith(task -> {
+                    if (!task.isSuccessful()) result.error = task.getException();
+                    Log.d(TAG, "Bulk accept: " + result.succeeded + " accepted, " + result.skipped + " skipped, full=" + result.full);
+                    return result;
+                });
+    }
+
+    /**
+     * Runs the next chunk, then recurses on what is left. A chunk that fails is retried up to SlotClaim.MAX_ATTEMPTS times.
+     */
+    private static Task<Void> acceptChunks(FirebaseFirestore db, ServiceInfo service, List<String> remaining,
+                                           BulkResult result, @Nullable BulkResult.ProgressListener listener, int attempt) {
+        if (remaining.isEmpty()) return closeIfFull(db, service).continueWith(task -> null);
+
+        List<String> chunk = new ArrayList<>(remaining.subList(0, Math.min(CHUNK_SIZE, remaining.size())));
+        return freeSlots(db, service).onSuccessTask(free -> {
+            if (free.isEmpty()) {
+                result.full = true;
+                return closeIfFull(db, service).continueWith(task -> (ChunkResult) null);
+            }
+            Collections.shuffle(free, random);
+            List<Integer> candidates = free.subList(0, Math.min(chunk.size(), free.size()));
+            return claimChunk(db, service, chunk, candidates);
+        }).continueWithTask(task -> {
+            if (!task.isSuccessful()) {
+                if (attempt < SlotClaim.MAX_ATTEMPTS) {
+                    Log.w(TAG, "Chunk failed, retrying (attempt " + attempt + ")", task.getException());
+                    return acceptChunks(db, service, remaining, result, listener, attempt + 1);
+                }
+                return Tasks.<Void>forException(task.getException());
+            }
+
+            ChunkResult chunkResult = task.getResult();
+            if (chunkResult == null) return Tasks.<Void>forResult(null);
+
+            result.succeeded += chunkResult.accepted.size();
+            result.skipped += chunkResult.skipped.size();
+            remaining.removeAll(chunkResult.accepted);
+            remaining.removeAll(chunkResult.skipped);
+            if (listener != null) listener.onProgress(result.succeeded, result.total - remaining.size(), result.total);
+
+            return acceptChunks(db, service, remaining, result, listener, 1);
+        });
+    }
+
+    /**
+     * Accepts as many of the chunk's Pending applications as there are free candidate slots, in one transaction.
+     * Applications left over because a candidate was taken concurrently are not in the result and go into the next chunk.
+     */
+    private static Task<ChunkResult> claimChunk(FirebaseFirestore db, ServiceInfo service, List<String> applicationIds, List<Integer> candidates) {
+        DocumentReference serviceRef = db.collection("services").document(service.serviceId);
+
+        return db.runTransaction(transaction -> {
+            ChunkResult chunkResult = new ChunkResult();
+            List<DocumentReference> pending = new ArrayList<>();
+            String serviceTitle = null;
+            for (String applicationId : applicationIds) {
+                DocumentSnapshot appSnapshot = transaction.get(db.collection("applications").document(applicationId));
+                if (SlotClaim.decide(false, appSnapshot.exists(), appSnapshot.getString("status")) == SlotClaim.Outcome.CLAIM) {
+                    pending.add(appSnapshot.getReference());
+                    if (serviceTitle == null) serviceTitle = appSnapshot.getString("serviceTitle");
+                } else {
+                    chunkResult.skipped.add(applicationId);
+                }
+            }
+
+            List<DocumentReference> freeSlots = new ArrayList<>();
+            for (int index : candidates) {
+                DocumentReference slotRef = slotRef(db, service.serviceId, index);
+                if (!transaction.get(slotRef).exists()) freeSlots.add(slotRef);
+            }
+
+            int count = Math.min(pending.size(), freeSlots.size());
+            for (int i = 0; i < count; i++) {
+                DocumentReference appRef = pending.get(i);
+                Map<String, Object> slotData = new HashMap<>();
+                slotData.put("applicationId", appRef.getId());
+                slotData.put("claimedAt", FieldValue.serverTimestamp());
+
+                transaction.set(freeSlots.get(i), slotData);
+                transaction.update(appRef, "status", "Accepted");
+                chunkResult.accepted.add(appRef.getId());
+            }
+
+            if (count > 0) {
+                transaction.update(serviceRef, "volunteersApplied", FieldValue.increment(count));
+                StatsCounters.applyStatusChange(transaction, db, service.orgId, service.serviceId, "Pending", "Accepted", count);
+                ActivityFeed.record(transaction, db, service.orgId, ActivityFeed.TYPE_STATUS,
+                        (count == 1) ? ActivityFeed.applicationMessage(serviceTitle, "Accepted")
+                                : ActivityFeed.bulkMessage(serviceTitle, "Accepted", count),
+                        service.serviceId);
+            }
+            return chunkResult;
+        });
+    }
+
+    /**
+     * @param e A failure from accept().
+     * @return True if it failed because the service has no free slot.
+     */
+    public static boolean isFull(Exception e) {
+        return e instanceof SlotClaim.ServiceFullException;
+    }
+
+    /**
+     * Tries to claim one slot for the application in a transaction.
+     * @return A task resolving to the transaction's decision; it wrote only on CLAIM.
+     */
+    private static Task<SlotClaim.Outcome> claimSlot(FirebaseFirestore db, ServiceInfo service, String applicationId, int slot) {
+        DocumentReference slotRef = slotRef(db, service.serviceId, slot);
+        DocumentReference appRef = db.collection("applications").document(applicationId);
+        DocumentReference serviceRef = db.collection("services").document(service.serviceId);
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot slotSnapshot = transaction.get(slotRef);
+            DocumentSnapshot appSnapshot = transaction.get(appRef);
+            String oldStatus = appSnapshot.getString("status");
+            SlotClaim.Outcome outcome = SlotClaim.decide(slotSnapshot.exists(), appSnapshot.exists(), oldStatus);
+            if (outcome != SlotClaim.Outcome.CLAIM) return outcome;
+
+            Map<String, Object> slotData = new HashMap<>();
+            slotData.put("applicationId", applicationId);
+            slotData.put("claimedAt", FieldValue.serverTimestamp());
+
+            transaction.set(slotRef, slotData);
+            transaction.update(appRef, "status", "Accepted");
+            // Blind increment: the service document is not read, so concurrent claims do not conflict on it
+            transaction.update(serviceRef, "volunteersApplied", FieldValue.increment(1));
+            StatsCounters.applyStatusChange(transaction, db, service.orgId, service.serviceId, oldStatus, "Accepted", 1);
+            ActivityFeed.record(transaction, db, service.orgId, ActivityFeed.TYPE_STATUS,
+                    ActivityFeed.applicationMessage(appSnapshot.getString("serviceTitle"), "Accepted"), service.serviceId);
+            return outcome;
+        });
+    }
+
+    /**
+     * Lists the free slot indices, creating slot documents for volunteers accepted before slots existed.
+     */
+    private static Task<List<Integer>> freeSlots(FirebaseFirestore db, ServiceInfo service) {
+        return slotsCollection(db, service.serviceId).get().onSuccessTask(snapshot -> {
+            List<String> slotIds = new ArrayList<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) slotIds.add(doc.getId());
+
+            List<Integer> free = SlotClaim.freeSlots(service.needed, slotIds);
+            if (free.size() == service.needed && service.legacyApplied > 0) {
+                return backfillLegacySlots(db, service).onSuccessTask(aVoid -> freeSlots(db, service.withoutLegacy()));
+            }
+            return Tasks.<List<Integer>>forResult(free);
+        });
+    }
+
+    /**
+     * Creates taken slots 0 .. volunteersApplied-1 for a service that counted its volunteers before
+     * slots existed. Runs in a transaction on the service so it happens only once.
+     */
+    private static Task<Void> backfillLegacySlots(FirebaseFirestore db, ServiceInfo service) {
+        DocumentReference serviceRef = db.collection("services").document(service.serviceId);
+        DocumentReference firstSlot = slotRef(db, service.serviceId, 0);
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot slotSnapshot = transaction.get(firstSlot);
+            DocumentSnapshot serviceSnapshot = transaction.get(serviceRef);
+            if (slotSnapshot.exists() || !serviceSnapshot.exists()) return null;
+
+            Long applied = serviceSnapshot.getLong("volunteersApplied");
+            int count = (applied != null) ? (int) Math.min(applied, service.needed) : 0;
+            for (int i = 0; i < count; i++) {
+                Map<String, Object> slotData = new HashMap<>();
+                slotData.put("legacy", true);
+                transaction.set(slotRef(db, service.serviceId, i), slotData);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Closes the service if every slot is taken, and rejects the applications still Pending on it.
+     * The slot count is monotonic, so a full count stays true; the close transaction only makes
+     * sure the service is closed (and counted) once.
+     * @return A task resolving to the service, closed or not.
+     */
+    private static Task<ServiceInfo> closeIfFull(FirebaseFirestore db, ServiceInfo service) {
+        return slotsCollection(db, service.serviceId).count().get(AggregateSource.SERVER).onSuccessTask(count -> {
+            if (count.getCount() < service.needed) return Tasks.<ServiceInfo>forResult(service);
+
+            return BulkRejections.closeAndRejectRemaining(db, service.serviceId, null).continueWith(task -> {
+                BulkResult result = task.getResult();
+                if (result.error != null) Log.w(TAG, "Could not close full service " + service.serviceId, result.error);
+                return service;
+            });
+        });
+    }
+
+    private static Task<ServiceInfo> loadService(FirebaseFirestore db, String serviceId) {
+        return db.collection("services").document(serviceId).get().continueWith(task -> {
+            DocumentSnapshot doc = task.getResult();
+            if (!doc.exists()) throw new IllegalStateException("Service not found");
+
+            Long needed = doc.getLong("volunteersNeeded");
+            Long applied = doc.getLong("volunteersApplied");
+            return new ServiceInfo(serviceId, doc.getString("orgId"),
+                    needed != null ? needed.intValue() : 0,
+                    applied != null ? applied.intValue() : 0);
+        });
+    }
+
+    /**
+     * Claims the slots of one service for one application in Firestore.
+     */
+    private static class FirestoreSlots implements SlotClaim.Slots {
+        private final FirebaseFirestore db;
+        private final ServiceInfo service;
+        private final String applicationId;
+
+        FirestoreSlots(FirebaseFirestore db, ServiceInfo service, String applicationId) {
+            this.db = db;
+            this.service = service;
+            this.applicationId = applicationId;
+        }
+
+        @Override
+        public Task<List<Integer>> freeSlots() {
+            return ServiceSlots.freeSlots(db, service);
+        }
+
+        @Override
+        public Task<SlotClaim.Outcome> claim(int slot) {
+            return claimSlot(db, service, applicationId, slot);
+        }
+
+        @Override
+        public Task<Void> closeIfFull() {
+            return ServiceSlots.closeIfFull(db, service).onSuccessTask(closed -> Tasks.<Void>forResult(null));
+        }
+    }
+
+    /**
+     * The applications one chunk transaction accepted or skipped.
+     */
+    private static class ChunkResult {
+        final List<String> accepted = new ArrayList<>();
+        final List<String> skipped = new ArrayList<>();
+    }
+
+    /**
+     * The fields of a service needed to claim its slots.
+     */
+    private static class ServiceInfo {
+        final String serviceId;
+        final String orgId;
+        final int needed;
+        /** volunteersApplied when loaded; only used to backfill slots for older services. */
+        final int legacyApplied;
+
+        ServiceInfo(String serviceId, String orgId, int needed, int legacyApplied) {
+            this.serviceId = serviceId;
+            this.orgId = orgId;
+            this.needed = needed;
+            this.legacyApplied = legacyApplied;
+        }
+
+        ServiceInfo withoutLegacy() {
+            return new ServiceInfo(serviceId, orgId, needed, 0);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * How ServiceSlots claims a slot, kept free of Firestore so it can be run against an in-memory
+ * stand-in: which slots are free, whether a transaction that has read a slot and an application
+ * may claim it, and the accept flow that retries lost races and closes a full service.
+ */
+final class SlotClaim {
+
+    /** Claim attempts before giving up on a service whose slots keep being taken concurrently. */
+    static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * What a claim transaction does with what it read.
+     */
+    enum Outcome {
+        /** The slot is free and the application Pending: take the slot and accept. */
+        CLAIM,
+        /** Someone claimed the slot since it was listed as free: retry with another one. */
+        SLOT_TAKEN,
+        /** The application does not exist any more. */
+        NOT_FOUND,
+        /** The application was already decided. */
+        NOT_PENDING
+    }
+
+    /**
+     * The storage an accept runs against; ServiceSlots backs it with Firestore.
+     */
+    interface Slots {
+        /**
+         * @return The free slot indices.
+         */
+        Task<List<Integer>> freeSlots();
+
+        /**
+         * Reads the slot and the application in one transaction, decides with decide(), and
+         * claims the slot only on CLAIM.
+         * @param slot The slot index to claim.
+         * @return The decision the transaction made.
+         */
+        Task<Outcome> claim(int slot);
+
+        /**
+         * Closes the service if every slot is taken.
+         * @return A task that completes when the check (and close) is done.
+         */
+        Task<Void> closeIfFull();
+    }
+
+    /**
+     * Thrown when an accept finds no free slot.
+     */
+    static final class ServiceFullException extends IllegalStateException {
+        ServiceFullException() {
+            super("Service is already full");
+        }
+    }
+
+    /**
+     * Thrown when every attempt picked a slot that was taken concurrently.
+     */
+    static final class SlotTakenException extends IllegalStateException {
+        SlotTakenException() {
+            super("Slot already taken");
+        }
+    }
+
+    private SlotClaim() {}
+
+    /**
+     * Accepts one application: claims a random free slot, retrying with another one if it was
+     * taken concurrently, up to MAX_ATTEMPTS times. The service is closed if it is full afterwards,
+     * and also when it turns out to be full already, in case an earlier accept filled it but
+     * never got to close it.
+     * @param slots The storage to claim from.
+     * @param random Picks among the free slots.
+     * @param executor Runs the continuations.
+     * @return A task that completes when the application is accepted; it fails with
+     * ServiceFullException if there is no free slot.
+     */
+    static Task<Void> accept(Slots slots, Random random, Executor executor) {
+        return claim(slots, random, executor, 1).continueWithTask(executor, task -> {
+            if (task.isSuccessful() || !(task.getException() instanceof ServiceFullException)) return task;
+            // Surface "full" either way; the close is best effort
+            return slots.closeIfFull().continueWithTask(executor, closed -> Tasks.<Void>forException(task.getException()));
+        }).onSuccessTask(executor, aVoid -> slots.closeIfFull());
+    }
+
+    private static Task<Void> claim(Slots slots, Random random, Executor executor, int attempt) {
+        return slots.freeSlots().onSuccessTask(executor, free -> {
+            if (free.isEmpty()) return Tasks.<Void>forException(new ServiceFullException());
+
+            int slot = free.get(random.nextInt(free.size()));
+            return slots.claim(slot).onSuccessTask(executor, outcome -> {
+                switch (outcome) {
+                    case CLAIM:
+                        return Tasks.<Void>forResult(null);
+                    case SLOT_TAKEN:
+                        if (attempt < MAX_ATTEMPTS) return claim(slots, random, executor, attempt + 1);
+                        return Tasks.<Void>forException(new SlotTakenException());
+                    case NOT_FOUND:
+                        return Tasks.<Void>forException(new IllegalStateException("Application not found"));
+                    default:
+                        return Tasks.<Void>forException(new IllegalStateException("Application is no longer Pending"));
+                }
+            });
+        });
+    }
+
+    /**
+     * @param needed The service's volunteersNeeded.
+     * @param slotIds The document IDs in the service's "slots" subcollection.
+     * @return The free slot indices in ascending order; empty if the service is full.
+     */
+    static List<Integer> freeSlots(int needed, Collection<String> slotIds) {
+        Set<Integer> taken = new HashSet<>();
+        for (String id : slotIds) {
+            try {
+                taken.add(Integer.parseInt(id));
+            } catch (NumberFormatException ignored) {
+                // Not a slot document
+            }
+        }
+
+        List<Integer> free = new ArrayList<>();
+        for (int i = 0; i < needed; i++) {
+            if (!taken.contains(i)) free.add(i);
+        }
+        return free;
+    }
+
+    /**
+     * Decides a claim from the transaction's reads. The slot is checked first, so a lost race
+     * is retried rather than reported as an error.
+     * @param slotTaken True if the slot document exists.
+     * @param applicationExists True if the application document exists.
+     * @param status The application's status.
+     * @return What the transaction should do.
+     */
+    static Outcome decide(boolean slotTaken, boolean applicationExists, @Nullable String status) {
+        if (slotTaken) return Outcome.SLOT_TAKEN;
+        if (!applicationExists) return Outcome.NOT_FOUND;
+        if (!"Pending".equals(status)) return Outcome.NOT_PENDING;
+        return Outcome.CLAIM;
+    }
+}
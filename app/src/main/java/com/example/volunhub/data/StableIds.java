@@ -0,0 +1,66 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gives list items stable RecyclerView IDs keyed on a document ID, for adapters with
+ * setHasStableIds(true). An item keeps its ID while it stays in the list, and IDs are never
+ * reused, so an item that leaves and comes back is not mistaken for another one.
+ * <p>
+ * Call retainOnly() whenever the adapter's list is replaced (from onCurrentListChanged), so the
+ * map only holds the items currently shown instead of everything paged or searched through.
+ * @param <T> The list item type.
+ */
+public class StableIds<T> {
+
+    /**
+     * Extracts the key an item's ID is based on.
+     * @param <T> The list item type.
+     */
+    public interface KeyFunction<T> {
+        /**
+         * @param item The list item.
+         * @return The item's document ID, or null if it has none.
+         */
+        @Nullable
+        String keyOf(T item);
+    }
+
+    private final KeyFunction<T> keyFunction;
+    private final Map<String, Long> ids = new HashMap<>();
+    private long nextId = 0;
+
+    public StableIds(KeyFunction<T> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * @param item The list item.
+     * @return The item's stable ID, assigning a new one if its key has none yet.
+     */
+    public long get(T item) {
+        String key = keyFunction.keyOf(item);
+        Long id = ids.get(key);
+        if (id == null) {
+            id = nextId++;
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    /**
+     * Forgets the IDs of items that are no longer in the list.
+     * @param currentList The list now shown.
+     */
+    public void retainOnly(List<T> currentList) {
+        Set<String> present = new HashSet<>();
+        for (T item : currentList) present.add(keyFunction.keyOf(item));
+        ids.keySet().retainAll(present);
+    }
+}
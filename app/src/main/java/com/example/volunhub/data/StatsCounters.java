@@ -0,0 +1,156 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Incrementally maintained counters for the Organization dashboard and the Manage Service tabs.
+ * <p>
+ * "orgStats/{orgId}" holds pending, accepted, rejected, totalApplications and activeServices.
+ * "serviceStats/{serviceId}" holds pending, accepted and rejected.
+ * Every write that changes an application status or a service's Active state must apply the
+ * matching delta in the same batch or transaction, so the counters never drift from the data.
+ * StatsRepair rebuilds both documents from the source collections if they ever do.
+ * <p>
+ * An increment on a document that does not exist yet creates a partial one, so existence alone
+ * does not mean the counters are complete. Only StatsRepair writes FIELD_SCHEMA_VERSION; a
+ * document without the current version has never been rebuilt and must be repaired.
+ */
+public final class StatsCounters {
+
+    public static final String ORG_STATS = "orgStats";
+    public static final String SERVICE_STATS = "serviceStats";
+
+    public static final String FIELD_PENDING = "pending";
+    public static final String FIELD_ACCEPTED = "accepted";
+    public static final String FIELD_REJECTED = "rejected";
+    public static final String FIELD_TOTAL_APPLICATIONS = "totalApplications";
+    public static final String FIELD_ACTIVE_SERVICES = "activeServices";
+    public static final String FIELD_SCHEMA_VERSION = "schemaVersion";
+
+    /** Bump when the counters change meaning, so every stats document is rebuilt once. */
+    public static final long SCHEMA_VERSION = 1;
+
+    private StatsCounters() {}
+
+    public static DocumentReference orgStatsRef(FirebaseFirestore db, String orgId) {
+        return db.collection(ORG_STATS).document(orgId);
+    }
+
+    public static DocumentReference serviceStatsRef(FirebaseFirestore db, String serviceId) {
+        return db.collection(SERVICE_STATS).document(serviceId);
+    }
+
+    /**
+     * @param snapshot A stats document read from the server.
+     * @return True if the document is missing or was not written by StatsRepair at the current version.
+     */
+    public static boolean needsRepair(DocumentSnapshot snapshot) {
+        if (!snapshot.exists()) return true;
+        Long version = snapshot.getLong(FIELD_SCHEMA_VERSION);
+        return version == null || version < SCHEMA_VERSION;
+    }
+
+    /**
+     * Records applications moving between statuses inside a batch.
+     * Nothing is written if the status does not actually change.
+     * @param fromStatus The previous status, or null if the applications are being created.
+     * @param toStatus The new status, or null if the applications are being deleted.
+     * @param count How many applications made this move.
+     */
+    public static void applyStatusChange(WriteBatch batch, FirebaseFirestore db, String orgId, String serviceId,
+                                         @Nullable String fromStatus, @Nullable String toStatus, long count) {
+        Map<String, Object> orgDelta = orgStatusDelta(fromStatus, toStatus, count);
+        Map<String, Object> serviceDelta = serviceStatusDelta(fromStatus, toStatus, count);
+        if (orgId != null && !orgDelta.isEmpty()) batch.set(orgStatsRef(db, orgId), orgDelta, SetOptions.merge());
+        if (serviceId != null && !serviceDelta.isEmpty()) batch.set(serviceStatsRef(db, serviceId), serviceDelta, SetOptions.merge());
+    }
+
+    /**
+     * Records applications moving between statuses inside a transaction.
+     * Nothing is written if the status does not actually change.
+     * Must be called after all of the transaction's reads.
+     */
+    public static void applyStatusChange(Transaction transaction, FirebaseFirestore db, String orgId, String serviceId,
+                                         @Nullable String fromStatus, @Nullable String toStatus, long count) {
+        Map<String, Object> orgDelta = orgStatusDelta(fromStatus, toStatus, count);
+        Map<String, Object> serviceDelta = serviceStatusDelta(fromStatus, toStatus, count);
+        if (orgId != null && !orgDelta.isEmpty()) transaction.set(orgStatsRef(db, orgId), orgDelta, SetOptions.merge());
+        if (serviceId != null && !serviceDelta.isEmpty()) transaction.set(serviceStatsRef(db, serviceId), serviceDelta, SetOptions.merge());
+    }
+
+    /**
+     * Adjusts the organization's Active service counter inside a batch.
+     * @param delta +1 when a service becomes Active, -1 when it closes or is deleted.
+     */
+    public static void applyActiveServiceChange(WriteBatch batch, FirebaseFirestore db, String orgId, long delta) {
+        if (orgId == null) return;
+        batch.set(orgStatsRef(db, orgId), activeServicesDelta(delta), SetOptions.merge());
+    }
+
+    /**
+     * Adjusts the organization's Active service counter inside a transaction.
+     * @param delta +1 when a service becomes Active, -1 when it closes or is deleted.
+     */
+    public static void applyActiveServiceChange(Transaction transaction, FirebaseFirestore db, String orgId, long delta) {
+        if (orgId == null) return;
+        transaction.set(orgStatsRef(db, orgId), activeServicesDelta(delta), SetOptions.merge());
+    }
+
+    private static Map<String, Object> orgStatusDelta(@Nullable String fromStatus, @Nullable String toStatus, long count) {
+        Map<String, Object> delta = serviceStatusDelta(fromStatus, toStatus, count);
+        if (fromStatus == null && toStatus != null) {
+            delta.put(FIELD_TOTAL_APPLICATIONS, FieldValue.increment(count));
+        } else if (fromStatus != null && toStatus == null) {
+            delta.put(FIELD_TOTAL_APPLICATIONS, FieldValue.increment(-count));
+        }
+        return delta;
+    }
+
+    /**
+     * @return The counter increments for the move; empty if both statuses map to the same counter.
+     */
+    private static Map<String, Object> serviceStatusDelta(@Nullable String fromStatus, @Nullable String toStatus, long count) {
+        Map<String, Object> delta = new HashMap<>();
+        String fromField = statusField(fromStatus);
+        String toField = statusField(toStatus);
+        // One key cannot hold both increments; a move onto the same counter changes nothing
+        if (fromField != null && fromField.equals(toField)) return delta;
+        if (fromField != null) delta.put(fromField, FieldValue.increment(-count));
+        if (toField != null) delta.put(toField, FieldValue.increment(count));
+        return delta;
+    }
+
+    private static Map<String, Object> activeServicesDelta(long delta) {
+        Map<String, Object> update = new HashMap<>();
+        update.put(FIELD_ACTIVE_SERVICES, FieldValue.increment(delta));
+        return update;
+    }
+
+    /**
+     * Maps an application status to its counter field.
+     * @param status The application status (Pending, Accepted, Rejected).
+     * @return The counter field name, or null for unknown statuses.
+     */
+    @Nullable
+    private static String statusField(@Nullable String status) {
+        if (status == null) return null;
+        switch (status.toLowerCase(Locale.ROOT)) {
+            case "pending": return FIELD_PENDING;
+            case "accepted": return FIELD_ACCEPTED;
+            case "rejected": return FIELD_REJECTED;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.volunhub.data;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes the StatsCounters documents from the "applications" and "services" collections.
+ * Used when a stats document is missing or has no current FIELD_SCHEMA_VERSION (data created
+ * before the counters existed, or a partial document created by an early increment), or is
+ * suspected to have drifted. Only this class writes the version field. The counts are
+ * server-side count() aggregations, so a repair costs a handful of aggregation reads rather
+ * than a full download.
+ * <p>
+ * The rebuilt document overwrites the old one; an increment committed while a repair is running
+ * may be lost, so repairs should only be run when the counters are already wrong.
+ */
+public class StatsRepair {
+
+    private final FirebaseFirestore db;
+
+    public StatsRepair(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Rebuilds "serviceStats/{serviceId}".
+     * @param serviceId The service to recount.
+     * @return A task that completes when the document has been written.
+     */
+    public Task<Void> recomputeService(String serviceId) {
+        Query apps = db.collection("applications").whereEqualTo("serviceId", serviceId);
+
+        return Tasks.whenAllSuccess(
+                count(apps.whereEqualTo("status", "Pending")),
+                count(apps.whereEqualTo("status", "Accepted")),
+                count(apps.whereEqualTo("status", "Rejected"))
+        ).onSuccessTask(counts -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put(StatsCounters.FIELD_PENDING, countOf(counts, 0));
+            stats.put(StatsCounters.FIELD_ACCEPTED, countOf(counts, 1));
+            stats.put(StatsCounters.FIELD_REJECTED, countOf(counts, 2));
+            stats.put(StatsCounters.FIELD_SCHEMA_VERSION, StatsCounters.SCHEMA_VERSION);
+            return StatsCounters.serviceStatsRef(db, serviceId).set(stats);
+        });
+    }
+
+    /**
+     * Rebuilds "orgStats/{orgId}" and the "serviceStats" document of every service the org owns.
+     * @param orgId The organization to recount.
+     * @return A task that completes when all documents have been written.
+     */
+    public Task<Void> recomputeOrg(String orgId) {
+        Query apps = db.collection("applications").whereEqualTo("orgId", orgId);
+
+        Task<Void> orgTask = Tasks.whenAllSuccess(
+                count(apps.whereEqualTo("status", "Pending")),
+                count(apps.whereEqualTo("status", "Accepted")),
+                count(apps.whereEqualTo("status", "Rejected")),
+                count(apps),
+                count(db.collection("services").whereEqualTo("orgId", orgId).whereEqualTo("status", "Active"))
+        ).onSuccessTask(counts -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put(StatsCounters.FIELD_PENDING, countOf(counts, 0));
+            stats.put(StatsCounters.FIELD_ACCEPTED, countOf(counts, 1));
+            stats.put(StatsCounters.FIELD_REJECTED, countOf(counts, 2));
+            stats.put(StatsCounters.FIELD_TOTAL_APPLICATIONS, countOf(counts, 3));
+            stats.put(StatsCounters.FIELD_ACTIVE_SERVICES, countOf(counts, 4));
+            stats.put(StatsCounters.FIELD_SCHEMA_VERSION, StatsCounters.SCHEMA_VERSION);
+            return StatsCounters.orgStatsRef(db, orgId).set(stats);
+        });
+
+        Task<Void> servicesTask = db.collection("services").whereEqualTo("orgId", orgId).get()
+                .onSuccessTask(snapshot -> {
+                    List<Task<Void>> repairs = new ArrayList<>();
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        repairs.add(recomputeService(doc.getId()));
+                    }
+                    return Tasks.whenAll(repairs);
+                });
+
+        return Tasks.whenAll(orgTask, servicesTask);
+    }
+
+    private Task<AggregateQuerySnapshot> count(Query query) {
+        return query.count().get(AggregateSource.SERVER);
+    }
+
+    private static long countOf(List<Object> counts, int index) {
+        return ((AggregateQuerySnapshot) counts.get(index)).getCount();
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.models.UserProfile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bounded in-memory cache of other users' profiles ("users/{id}" documents).
+ * <ul>
+ *     <li>Entries are evicted least-recently-used once MAX_ENTRIES is reached, and refetched
+ *     once they are older than TTL_MS.</li>
+ *     <li>Concurrent requests for the same ID share one in-flight Task, so bouncing between a
+ *     service and its organization, or several tabs listing the same students, costs one read.</li>
+ *     <li>If the server cannot be reached, an expired entry is returned, or failing that the
+ *     document from the Firestore local cache.</li>
+ * </ul>
+ * Profiles that do not exist are cached too, and resolve to null.
+ * All methods must be called on the main thread.
+ */
+public final class UserProfileCache {
+
+    private static final String TAG = "UserProfileCache";
+    private static final int MAX_ENTRIES = 200;
+    private static final long TTL_MS = 5 * 60 * 1000;
+
+    @Nullable
+    private static UserProfileCache instance;
+
+    private final FirebaseFirestore db;
+    private final LruCache<String, Entry> entries = new LruCache<>(MAX_ENTRIES);
+    private final Map<String, Task<UserProfile>> inFlight = new HashMap<>();
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    private UserProfileCache(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * @return The process-wide cache.
+     */
+    public static synchronized UserProfileCache getInstance() {
+        if (instance == null) {
+            instance = new UserProfileCache(FirebaseFirestore.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a user's profile, from memory if a fresh copy is cached.
+     * @param uid The user ID.
+     * @return A task resolving to the profile, or to null if the user document does not exist.
+     */
+    public Task<UserProfile> get(String uid) {
+        Entry entry = entries.get(uid);
+        if (entry != null && entry.isFresh()) {
+            hitCount++;
+            return Tasks.forResult(entry.profile);
+        }
+
+        Task<UserProfile> pending = inFlight.get(uid);
+        if (pending != null) {
+            hitCount++;
+            return pending;
+        }
+
+        missCount++;
+        Task<UserProfile> load = db.collection("users").document(uid).get()
+                .continueWithTask(task -> {
+                    if (task.isSuccessful()) return Tasks.forResult(task.getResult());
+                    Log.w(TAG, "Profile fetch failed, falling back to cache: " + uid, task.getException());
+                    return db.collection("users").document(uid).get(Source.CACHE);
+                })
+                .continueWith(task -> {
+                    inFlight.remove(uid);
+                    if (!task.isSuccessful()) {
+                        if (entry != null) return entry.profile;
+                        throw task.getException();
+                    }
+                    return store(uid, task.getResult());
+                });
+        inFlight.put(uid, load);
+        return load;
+    }
+
+    /**
+     * Returns the profiles of several users. Fresh entries come from memory, IDs already being
+     * loaded share the in-flight task, and the rest are fetched with chunked whereIn queries.
+     * @param uids The user IDs; null and duplicate IDs are ignored.
+     * @return A task resolving to the found profiles keyed by user ID. Users whose document does not exist are absent.
+     */
+    public Task<Map<String, UserProfile>> getAll(Collection<String> uids) {
+        Map<String, UserProfile> found = new HashMap<>();
+        Map<String, Task<UserProfile>> waiting = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (String uid : uids) {
+            if (uid == null || uid.isEmpty() || found.containsKey(uid) || waiting.containsKey(uid) || missing.contains(uid)) continue;
+
+            Entry entry = entries.get(uid);
+            Task<UserProfile> pending = inFlight.get(uid);
+            if (entry != null && entry.isFresh()) {
+                hitCount++;
+                if (entry.profile != null) found.put(uid, entry.profile);
+            } else if (pending != null) {
+                hitCount++;
+                waiting.put(uid, pending);
+            } else {
+                missCount++;
+                missing.add(uid);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, TaskCompletionSource<UserProfile>> sources = new HashMap<>();
+            for (String uid : missing) {
+                TaskCompletionSource<UserProfile> source = new TaskCompletionSource<>();
+                sources.put(uid, source);
+                inFlight.put(uid, source.getTask());
+                waiting.put(uid, source.getTask());
+            }
+            fetchBatch(missing, sources);
+        }
+
+        if (waiting.isEmpty()) return Tasks.forResult(found);
+
+        List<Task<UserProfile>> tasks = new ArrayList<>(waiting.values());
+        return Tasks.whenAllComplete(tasks).continueWith(task -> {
+            for (Map.Entry<String, Task<UserProfile>> pending : waiting.entrySet()) {
+                Task<UserProfile> result = pending.getValue();
+                if (result.isSuccessful() && result.getResult() != null) {
+                    found.put(pending.getKey(), result.getResult());
+                } else if (!result.isSuccessful()) {
+                    Log.w(TAG, "No profile for " + pending.getKey(), result.getException());
+                }
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Returns a cached profile without loading it.
+     * @param uid The user ID.
+     * @return The fresh cached profile, or null if it is not cached, expired or does not exist.
+     */
+    @Nullable
+    public UserProfile peek(String uid) {
+        Entry entry = entries.get(uid);
+        return (entry != null && entry.isFresh()) ? entry.profile : null;
+    }
+
+    /**
+     * Drops a cached profile so the next request reads it again.
+     * @param uid The user ID.
+     */
+    public void invalidate(String uid) {
+        entries.remove(uid);
+    }
+
+    /**
+     * @return The number of requests answered from memory or by joining an in-flight load.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of requests that had to read from Firestore.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Fetches the missing profiles with batched queries, falling back to the local cache,
+     * and completes each ID's shared task.
+     */
+    private void fetchBatch(Set<String> uids, Map<String, TaskCompletionSource<UserProfile>> sources) {
+        DocumentBatchFetcher.fetch(db.collection("users"), uids)
+                .continueWithTask(task -> {
+                    if (task.isSuccessful()) return Tasks.forResult(task.getResult());
+                    Log.w(TAG, "Profile batch fetch failed, falling back to cache", task.getException());
+                    return DocumentBatchFetcher.fetch(db.collection("users"), uids, Source.CACHE);
+                })
+                .addOnCompleteListener(task -> {
+                    for (String uid : uids) {
+                        inFlight.remove(uid);
+                        TaskCompletionSource<UserProfile> source = sources.get(uid);
+                        if (source == null) continue;
+
+                        if (task.isSuccessful()) {
+                            source.setResult(store(uid, task.getResult().get(uid)));
+                        } else {
+                            Entry stale = entries.get(uid);
+                            if (stale != null) {
+                                source.setResult(stale.profile);
+                            } else {
+                                source.setException(task.getException());
+                            }
+                        }
+                    }
+                    Log.d("NFRTest", "Profile cache hits: " + hitCount + ", misses: " + missCount);
+                });
+    }
+
+    @Nullable
+    private UserProfile store(String uid, @Nullable DocumentSnapshot doc) {
+        UserProfile profile = (doc != null && doc.exists() && doc.getData() != null)
+                ? UserProfile.fromData(uid, doc.getData())
+                : null;
+        entries.put(uid, new Entry(profile, System.currentTimeMillis()));
+        return profile;
+    }
+
+    /**
+     * A cached profile (null if the user does not exist) and when it was loaded.
+     */
+    private static class Entry {
+        @Nullable
+        final UserProfile profile;
+        final long loadedAt;
+
+        Entry(@Nullable UserProfile profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - loadedAt < TTL_MS;
+        }
+    }
+}
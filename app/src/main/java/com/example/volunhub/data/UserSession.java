@@ -0,0 +1,235 @@
+package com.example.volunhub.data;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.models.UserProfile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the signed-in user's "users/{uid}" document for the whole app session.
+ * One snapshot listener keeps a typed UserProfile up to date, so the profile screens, the edit
+ * screens and posting a service read it from memory instead of fetching the document again.
+ * <p>
+ * Writes made through update() are merged into the cached profile before they reach the server,
+ * and rolled back if they fail. All methods must be called on the main thread.
+ */
+public final class UserSession {
+
+    /**
+     * Receives the current profile. Called on the main thread.
+     */
+    public interface Listener {
+        /**
+         * @param profile The latest profile, including optimistic local changes.
+         */
+        void onProfileChanged(UserProfile profile);
+    }
+
+    private static final String TAG = "UserSession";
+
+    @Nullable
+    private static UserSession instance;
+
+    private final List<Listener> listeners = new ArrayList<>();
+    @Nullable
+    private String uid;
+    @Nullable
+    private DocumentReference userRef;
+    @Nullable
+    private ListenerRegistration registration;
+    @Nullable
+    private TaskCompletionSource<DocumentSnapshot> firstSnapshot;
+
+    /** The fields of the last snapshot received from Firestore. */
+    @Nullable
+    private Map<String, Object> snapshotData;
+    /** The fields currently shown, i.e. the snapshot with optimistic writes applied. */
+    @Nullable
+    private Map<String, Object> currentData;
+    @Nullable
+    private UserProfile profile;
+
+    private UserSession() {}
+
+    /**
+     * @return The process-wide session.
+     */
+    public static synchronized UserSession getInstance() {
+        if (instance == null) {
+            instance = new UserSession();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts listening to a user's document. Does nothing if that user's session is already running;
+     * a different user's session is cleared first. A session whose listener failed is re-attached,
+     * keeping its profile and listeners, since a Firestore listener stops for good after an error.
+     * @param db The Firestore instance.
+     * @param uid The signed-in user's ID.
+     * @return A task with the first snapshot of the document, which may come from the local cache.
+     */
+    public Task<DocumentSnapshot> start(FirebaseFirestore db, String uid) {
+        if (!uid.equals(this.uid)) {
+            clear();
+        } else if (isListening()) {
+            return firstSnapshot.getTask();
+        } else {
+            stopListening();
+        }
+
+        this.uid = uid;
+        userRef = db.collection("users").document(uid);
+        TaskCompletionSource<DocumentSnapshot> first = new TaskCompletionSource<>();
+        firstSnapshot = first;
+
+        registration = userRef.addSnapshotListener((snapshot, error) -> {
+            if (error != null || snapshot == null) {
+                Log.e(TAG, "Error listening to user document", error);
+                if (error != null) {
+                    first.trySetException(error);
+                    // The listener is dead; let the next start() attach a new one
+                    if (first == firstSnapshot) registration = null;
+                }
+                return;
+            }
+            first.trySetResult(snapshot);
+
+            if (!snapshot.exists()) {
+                Log.w(TAG, "User document not found.");
+                return;
+            }
+            snapshotData = snapshot.getData();
+            setCurrent(new HashMap<>(snapshotData));
+        });
+        return first.getTask();
+    }
+
+    /**
+     * @return The current profile, or null if the document has not been received yet.
+     */
+    @Nullable
+    public UserProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Registers a listener. It is called right away if the profile is already known.
+     * @param listener The listener to add.
+     */
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+        if (profile != null) listener.onProfileChanged(profile);
+    }
+
+    /**
+     * @param listener The listener to remove.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Updates fields of the user's document, applying them to the cached profile immediately.
+     * @param updates The fields to update.
+     * @return A task that completes when the write is committed.
+     */
+    public Task<Void> update(Map<String, Object> updates) {
+        if (userRef == null) return notStarted();
+        Task<Void> write = userRef.update(updates);
+        applyOptimistically(updates, write);
+        return write;
+    }
+
+    /**
+     * Adds an update of the user's document to a batch and commits it, applying the fields to the
+     * cached profile immediately. Used when the profile change must be written together with others.
+     * @param batch The batch holding the related writes.
+     * @param updates The fields of the user's document to update.
+     * @return A task that completes when the batch is committed.
+     */
+    public Task<Void> update(WriteBatch batch, Map<String, Object> updates) {
+        if (userRef == null) return notStarted();
+        batch.update(userRef, updates);
+        Task<Void> write = batch.commit();
+        applyOptimistically(updates, write);
+        return write;
+    }
+
+    /**
+     * Stops listening and forgets the profile. Called when the user signs out.
+     */
+    public void clear() {
+        stopListening();
+        uid = null;
+        snapshotData = null;
+        currentData = null;
+        profile = null;
+        listeners.clear();
+    }
+
+    /**
+     * @return True if the listener is attached and its first snapshot has not failed.
+     */
+    private boolean isListening() {
+        if (registration == null || firstSnapshot == null) return false;
+        Task<DocumentSnapshot> first = firstSnapshot.getTask();
+        return !first.isComplete() || first.isSuccessful();
+    }
+
+    private void stopListening() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        userRef = null;
+        firstSnapshot = null;
+    }
+
+    private void applyOptimistically(Map<String, Object> updates, Task<Void> write) {
+        if (currentData != null) {
+            Map<String, Object> merged = new HashMap<>(currentData);
+            for (Map.Entry<String, Object> entry : updates.entrySet()) {
+                // Sentinels such as serverTimestamp() only resolve on the server
+                if (entry.getValue() instanceof FieldValue) continue;
+                merged.put(entry.getKey(), entry.getValue());
+            }
+            setCurrent(merged);
+        }
+
+        String writeUid = uid;
+        write.addOnFailureListener(e -> {
+            Log.e(TAG, "Profile update failed, reverting", e);
+            if (writeUid == null || !writeUid.equals(uid) || snapshotData == null) return;
+            setCurrent(new HashMap<>(snapshotData));
+        });
+    }
+
+    private void setCurrent(Map<String, Object> data) {
+        if (uid == null) return;
+        currentData = data;
+        profile = UserProfile.fromData(uid, data);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onProfileChanged(profile);
+        }
+    }
+
+    private static Task<Void> notStarted() {
+        return Tasks.forException(new IllegalStateException("User session has not been started"));
+    }
+}
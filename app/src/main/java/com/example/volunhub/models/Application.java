@@ -50,4 +50,26 @@ public class Application {
     public void setDocumentId(String documentId) { this.documentId = documentId; }
     @Exclude
     public void setServiceRemoved(boolean serviceRemoved) { this.serviceRemoved = serviceRemoved; }
+
+    /**
+     * Returns a copy with the given "service removed" flag, leaving this instance untouched,
+     * since the same instances are shared between screens and compared by DiffUtil.
+     * @param serviceRemoved Whether the service has been deleted.
+     * @return The copy.
+     */
+    @Exclude
+    public Application withServiceRemoved(boolean serviceRemoved) {
+        Application copy = new Application();
+        copy.orgId = orgId;
+        copy.orgName = orgName;
+        copy.serviceId = serviceId;
+        copy.serviceTitle = serviceTitle;
+        copy.status = status;
+        copy.studentId = studentId;
+        copy.serviceDate = serviceDate;
+        copy.appliedAt = appliedAt;
+        copy.documentId = documentId;
+        copy.serviceRemoved = serviceRemoved;
+        return copy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.volunhub.models;
+
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * A read-only view of a "users" document, for both Students and Organizations.
+ * Older documents used different field names for some values ("gender", "contact",
+ * "volunteerExperience"); they are resolved here so screens only read one getter.
+ */
+public class UserProfile {
+
+    private final String uid;
+    private final String role;
+    private final String email;
+    private final String contactNumber;
+    private final String profileImageUrl;
+
+    // Student fields
+    private final String studentName;
+    private final String studentAge;
+    private final String studentGender;
+    private final String studentIntroduction;
+    private final String studentExperience;
+
+    // Organization fields
+    private final String orgCompanyName;
+    private final String orgField;
+    private final String orgDescription;
+
+    private UserProfile(String uid, Map<String, Object> data) {
+        this.uid = uid;
+        this.role = getString(data, "role", null);
+        this.email = getString(data, "email", null);
+        this.contactNumber = getString(data, "contactNumber", "contact");
+        this.profileImageUrl = getString(data, "profileImageUrl", null);
+        this.studentName = getString(data, "studentName", null);
+        this.studentGender = getString(data, "studentGender", "gender");
+        this.studentIntroduction = getString(data, "studentIntroduction", null);
+        this.studentExperience = getString(data, "studentExperience", "volunteerExperience");
+        this.orgCompanyName = getString(data, "orgCompanyName", null);
+        this.orgField = getString(data, "orgField", null);
+        this.orgDescription = getString(data, "orgDescription", null);
+
+        // Stored as a string at sign up and as a number after editing
+        Object age = data.get("studentAge");
+        this.studentAge = (age != null) ? String.valueOf(age) : null;
+    }
+
+    /**
+     * Builds a profile from a user document's fields.
+     * @param uid The user ID (the document ID).
+     * @param data The document's fields.
+     * @return The profile.
+     */
+    public static UserProfile fromData(String uid, Map<String, Object> data) {
+        return new UserProfile(uid, data);
+    }
+
+    @Nullable
+    private static String getString(Map<String, Object> data, String field, @Nullable String legacyField) {
+        Object value = data.get(field);
+        if (value == null && legacyField != null) value = data.get(legacyField);
+        return (value instanceof String) ? (String) value : null;
+    }
+
+    public boolean isStudent() { return "Student".equals(role); }
+    public boolean isOrganization() { return "Organization".equals(role); }
+
+    // --- Getters ---
+    public String getUid() { return uid; }
+    @Nullable public String getRole() { return role; }
+    @Nullable public String getEmail() { return email; }
+    @Nullable public String getContactNumber() { return contactNumber; }
+    @Nullable public String getProfileImageUrl() { return profileImageUrl; }
+    @Nullable public String getStudentName() { return studentName; }
+    @Nullable public String getStudentAge() { return studentAge; }
+    @Nullable public String getStudentGender() { return studentGender; }
+    @Nullable public String getStudentIntroduction() { return studentIntroduction; }
+    @Nullable public String getStudentExperience() { return studentExperience; }
+    @Nullable public String getOrgCompanyName() { return orgCompanyName; }
+    @Nullable public String getOrgField() { return orgField; }
+    @Nullable public String getOrgDescription() { return orgDescription; }
+}
@@ -14,6 +14,7 @@ import androidx.navigation.ui.NavigationUI;
 import com.example.volunhub.BaseRouterActivity;
 import com.example.volunhub.MainActivity;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.ActivityOrgHomeBinding;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseAuth;
@@ -83,6 +84,7 @@ public class OrgHomeActivity extends AppCompatActivity {
      * Signs the user out and returns them to the main entry point (Login/Splash).
      */
     public void returnToMain() {
+        UserSession.getInstance().clear();
         if (mAuth != null) {
             mAuth.signOut();
         }
@@ -10,23 +10,50 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.volunhub.R;
+import com.example.volunhub.data.StableIds;
 import com.example.volunhub.databinding.ItemApplicantBinding;
 import com.example.volunhub.models.Applicant;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Adapter for displaying a list of student applicants.
  * Handles different views for Pending vs Accepted/Rejected tabs.
+ * Lists are submitted with submitList() and diffed on a background thread, so unchanged rows
+ * keep their loaded profile images. The Pending tab can enable multi-select for bulk actions.
  */
-public class ApplicantAdapter extends RecyclerView.Adapter<ApplicantAdapter.ApplicantViewHolder> {
+public class ApplicantAdapter extends ListAdapter<Applicant, ApplicantAdapter.ApplicantViewHolder> {
 
     private static final String TAG = "ApplicantAdapter";
-    private final List<Applicant> applicantList;
+
+    private static final DiffUtil.ItemCallback<Applicant> DIFF_CALLBACK = new DiffUtil.ItemCallback<Applicant>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Applicant oldItem, @NonNull Applicant newItem) {
+            return Objects.equals(oldItem.getApplicationId(), newItem.getApplicationId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Applicant oldItem, @NonNull Applicant newItem) {
+            return Objects.equals(oldItem.getStudentId(), newItem.getStudentId())
+                    && Objects.equals(oldItem.getStudentName(), newItem.getStudentName())
+                    && Objects.equals(oldItem.getStudentIntroduction(), newItem.getStudentIntroduction())
+                    && Objects.equals(oldItem.getProfileImageUrl(), newItem.getProfileImageUrl());
+        }
+    };
+
+    private final StableIds<Applicant> stableIds = new StableIds<>(Applicant::getApplicationId);
+    private final Set<String> selectedIds = new HashSet<>();
+    private SelectionListener selectionListener;
     private final String tabMode;
     private final ApplicantClickListener listener;
     private final Context context;
@@ -48,18 +75,29 @@ public class ApplicantAdapter extends RecyclerView.Adapter<ApplicantAdapter.Appl
         void onRejectClick(Applicant applicant);
     }
 
+    /**
+     * Interface for reacting to multi-select changes.
+     */
+    public interface SelectionListener {
+        /**
+         * Called whenever an applicant is selected or deselected.
+         * @param count The number of selected applicants.
+         */
+        void onSelectionChanged(int count);
+    }
+
     /**
      * Constructor for the adapter.
      * @param context The context used for loading resources and Glide.
-     * @param applicantList The list of applicants to display.
      * @param tabMode Determines if Action Buttons (Accept/Reject) should be shown.
      * @param listener The listener for button click events.
      */
-    public ApplicantAdapter(Context context, List<Applicant> applicantList, String tabMode, ApplicantClickListener listener) {
+    public ApplicantAdapter(Context context, String tabMode, ApplicantClickListener listener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.applicantList = applicantList;
         this.tabMode = tabMode;
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     /**
@@ -83,16 +121,66 @@ public class ApplicantAdapter extends RecyclerView.Adapter<ApplicantAdapter.Appl
      */
     @Override
     public void onBindViewHolder(@NonNull ApplicantViewHolder holder, int position) {
-        holder.bind(applicantList.get(position));
+        holder.bind(getItem(position));
+    }
+
+    /**
+     * Enables multi-select: a long press selects an applicant, and while any are selected a tap toggles instead of opening the profile.
+     * @param listener Notified when the selection changes.
+     */
+    public void enableSelection(SelectionListener listener) {
+        this.selectionListener = listener;
+    }
+
+    /**
+     * @return The application IDs of the selected applicants.
+     */
+    public List<String> getSelectedIds() {
+        return new ArrayList<>(selectedIds);
     }
 
     /**
-     * Returns the total number of items in the data set held by the adapter.
-     * @return The total number of items.
+     * Deselects every applicant.
+     */
+    public void clearSelection() {
+        if (selectedIds.isEmpty()) return;
+        selectedIds.clear();
+        notifyItemRangeChanged(0, getItemCount());
+        if (selectionListener != null) selectionListener.onSelectionChanged(0);
+    }
+
+    /**
+     * Drops selected applicants, and the stable IDs of applicants, that are no longer in the list.
+     * @param previousList The list before the update.
+     * @param currentList The list now shown.
+     */
+    @Override
+    public void onCurrentListChanged(@NonNull List<Applicant> previousList, @NonNull List<Applicant> currentList) {
+        stableIds.retainOnly(currentList);
+        if (selectedIds.isEmpty()) return;
+        Set<String> present = new HashSet<>();
+        for (Applicant applicant : currentList) present.add(applicant.getApplicationId());
+        if (selectedIds.retainAll(present) && selectionListener != null) {
+            selectionListener.onSelectionChanged(selectedIds.size());
+        }
+    }
+
+    private void toggleSelection(Applicant applicant, int position) {
+        String applicationId = applicant.getApplicationId();
+        if (applicationId == null) return;
+        if (!selectedIds.remove(applicationId)) selectedIds.add(applicationId);
+        notifyItemChanged(position);
+        if (selectionListener != null) selectionListener.onSelectionChanged(selectedIds.size());
+    }
+
+    /**
+     * Returns a stable ID for the applicant at the given position, keyed on the application ID.
+     * @param position The position of the item within the adapter's data set.
+     * @return The stable item ID.
      */
     @Override
-    public int getItemCount() {
-        return applicantList.size();
+    public long getItemId(int position) {
+        return stableIds.get(getItem(position));
     }
 
     /**
@@ -132,8 +220,21 @@ public class ApplicantAdapter extends RecyclerView.Adapter<ApplicantAdapter.Appl
             binding.buttonAccept.setOnClickListener(v -> listener.onAcceptClick(applicant));
             binding.buttonReject.setOnClickListener(v -> listener.onRejectClick(applicant));
 
+            binding.getRoot().setChecked(selectedIds.contains(applicant.getApplicationId()));
+            if (selectionListener != null) {
+                itemView.setOnLongClickListener(v -> {
+                    toggleSelection(applicant, getBindingAdapterPosition());
+                    return true;
+                });
+            }
+
             // Main Card Click Listener (Navigate to Student Profile)
             itemView.setOnClickListener(v -> {
+                if (!selectedIds.isEmpty()) {
+                    toggleSelection(applicant, getBindingAdapterPosition());
+                    return;
+                }
+
                 String studentId = applicant.getStudentId();
                 if (studentId == null || studentId.trim().isEmpty()) {
                     Toast.makeText(context, R.string.error_student_profile_not_available, Toast.LENGTH_SHORT).show();
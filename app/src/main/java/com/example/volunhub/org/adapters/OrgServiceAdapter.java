@@ -4,19 +4,39 @@ import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.volunhub.R;
+import com.example.volunhub.data.StableIds;
 import com.example.volunhub.databinding.ItemOrgServiceBinding;
 import com.example.volunhub.models.Service;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter to display the list of services created by the Organization.
+ * Lists are submitted with submitList() and diffed on a background thread.
  */
-public class OrgServiceAdapter extends RecyclerView.Adapter<OrgServiceAdapter.ServiceViewHolder> {
+public class OrgServiceAdapter extends ListAdapter<Service, OrgServiceAdapter.ServiceViewHolder> {
 
-    private final List<Service> serviceList;
+    private static final DiffUtil.ItemCallback<Service> DIFF_CALLBACK = new DiffUtil.ItemCallback<Service>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Service oldItem, @NonNull Service newItem) {
+            return Objects.equals(oldItem.getDocumentId(), newItem.getDocumentId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Service oldItem, @NonNull Service newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && oldItem.getVolunteersApplied() == newItem.getVolunteersApplied()
+                    && oldItem.getVolunteersNeeded() == newItem.getVolunteersNeeded();
+        }
+    };
+
+    private final StableIds<Service> stableIds = new StableIds<>(Service::getDocumentId);
     private OnItemClickListener listener;
 
     /**
@@ -40,10 +60,10 @@ public class OrgServiceAdapter extends RecyclerView.Adapter<OrgServiceAdapter.Se
 
     /**
      * Constructor for the adapter.
-     * @param serviceList The list of services to display.
      */
-    public OrgServiceAdapter(List<Service> serviceList) {
-        this.serviceList = serviceList;
+    public OrgServiceAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
     }
 
     /**
@@ -67,16 +87,27 @@ public class OrgServiceAdapter extends RecyclerView.Adapter<OrgServiceAdapter.Se
      */
     @Override
     public void onBindViewHolder(@NonNull ServiceViewHolder holder, int position) {
-        holder.bind(serviceList.get(position));
+        holder.bind(getItem(position));
+    }
+
+    /**
+     * Forgets the stable IDs of items that are no longer in the list.
+     * @param previousList The list before the update.
+     * @param currentList The list now shown.
+     */
+    @Override
+    public void onCurrentListChanged(@NonNull List<Service> previousList, @NonNull List<Service> currentList) {
+        stableIds.retainOnly(currentList);
     }
 
     /**
-     * Returns the total number of items in the data set held by the adapter.
-     * @return The total number of items.
+     * Returns a stable ID for the service at the given position, keyed on its document ID.
+     * @param position The position of the item within the adapter's data set.
+     * @return The stable item ID.
      */
     @Override
-    public int getItemCount() {
-        return serviceList.size();
+    public long getItemId(int position) {
+        return stableIds.get(getItem(position));
     }
 
     /**
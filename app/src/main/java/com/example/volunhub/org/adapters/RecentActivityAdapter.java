@@ -12,7 +12,7 @@ import com.example.volunhub.R;
 import com.example.volunhub.models.RecentActivity;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -21,13 +21,13 @@ import java.util.TimeZone;
  */
 public class RecentActivityAdapter extends RecyclerView.Adapter<RecentActivityAdapter.ViewHolder> {
 
-    private final ArrayList<RecentActivity> list;
+    private final List<RecentActivity> list;
 
     /**
      * Constructor for the adapter.
-     * @param list The list of recent activities to display.
+     * @param list The list of recent activities to display; the owner notifies the adapter of changes.
      */
-    public RecentActivityAdapter(ArrayList<RecentActivity> list) {
+    public RecentActivityAdapter(List<RecentActivity> list) {
         this.list = list;
     }
 
@@ -11,20 +11,26 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.volunhub.R;
+import com.example.volunhub.data.ActivityFeed;
+import com.example.volunhub.data.IncrementalSnapshotList;
+import com.example.volunhub.data.ListenerRegistry;
+import com.example.volunhub.data.StatsCounters;
+import com.example.volunhub.data.StatsRepair;
 import com.example.volunhub.databinding.FragmentOrgDashboardBinding;
 import com.example.volunhub.org.adapters.RecentActivityAdapter;
 import com.example.volunhub.models.RecentActivity;
 import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -36,12 +42,17 @@ import java.util.TimeZone;
 public class OrgDashboardFragment extends Fragment {
 
     private static final String TAG = "OrgDashboardFragment";
+    private static final int ACTIVITY_PAGE_SIZE = 10;
     private FragmentOrgDashboardBinding binding;
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
 
-    private ArrayList<RecentActivity> activityList;
+    private IncrementalSnapshotList<RecentActivity> recentActivity;
     private RecentActivityAdapter activityAdapter;
+    private ListenerRegistry listeners;
+    private DocumentSnapshot oldestActivity;
+    private boolean activityBackfilled = false;
+    private boolean statsRepairStarted = false;
 
     public OrgDashboardFragment() {}
 
@@ -71,10 +82,14 @@ public class OrgDashboardFragment extends Fragment {
 
         db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
-
-        // Setup Recent Activity Recycler
-        activityList = new ArrayList<>();
-        activityAdapter = new RecentActivityAdapter(activityList);
+        listeners = ListenerRegistry.bind(getViewLifecycleOwner());
+
+        // Setup Recent Activity Recycler: Newest -> Oldest, notified per item
+        recentActivity = new IncrementalSnapshotList<>(this::toRecentActivity,
+                Comparator.comparing(RecentActivity::getTimestamp).reversed());
+        recentActivity.setKeepRemoved(true);
+        activityAdapter = new RecentActivityAdapter(recentActivity.items());
+        recentActivity.setUpdateCallback(new AdapterListUpdateCallback(activityAdapter));
         binding.recyclerRecentActivity.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.recyclerRecentActivity.setAdapter(activityAdapter);
 
@@ -92,39 +107,50 @@ public class OrgDashboardFragment extends Fragment {
 
     /**
      * Loads numeric stats: Pending Applications, Active Jobs, Total Volunteers Applied.
+     * Listens to the organization's single "orgStats" document, which is updated incrementally
+     * alongside every application and service change.
      */
     private void loadQuickStats() {
         if (mAuth.getCurrentUser() == null) return;
         String orgId = mAuth.getCurrentUser().getUid();
 
-        // Count Pending applications
-        db.collection("applications")
-                .whereEqualTo("orgId", orgId)
-                .whereEqualTo("status", "Pending")
-                .get()
-                .addOnSuccessListener(snap -> {
+        listeners.add("stats", () -> StatsCounters.orgStatsRef(db, orgId)
+                .addSnapshotListener((snapshot, error) -> {
                     if (binding == null) return;
-                    binding.textStatsPending.setText(String.valueOf(snap.size()));
-                });
+                    if (error != null || snapshot == null) {
+                        Log.e(TAG, "Error listening to org stats", error);
+                        return;
+                    }
 
-        // Count Active services
-        db.collection("services")
-                .whereEqualTo("orgId", orgId)
-                .whereEqualTo("status", "Active")
-                .get()
-                .addOnSuccessListener(snap -> {
-                    if (binding == null) return;
-                    binding.textStatsJobs.setText(String.valueOf(snap.size()));
-                });
+                    if (StatsCounters.needsRepair(snapshot)) {
+                        // Missing, or a partial document created by an increment before the counters were ever
+                        // built: rebuild once. Only trust the server's view, and ignore snapshots until it lands.
+                        if (!snapshot.getMetadata().isFromCache() && !statsRepairStarted) {
+                            statsRepairStarted = true;
+                            new StatsRepair(db).recomputeOrg(orgId)
+                                    .addOnFailureListener(e -> {
+                                        statsRepairStarted = false;
+                                        Log.e(TAG, "Error rebuilding org stats", e);
+                                    });
+                        }
+                        return;
+                    }
 
-        // Count Total volunteers
-        db.collection("applications")
-                .whereEqualTo("orgId", orgId)
-                .get()
-                .addOnSuccessListener(snap -> {
-                    if (binding == null) return;
-                    binding.textStatsVolunteers.setText(String.valueOf(snap.size()));
-                });
+                    binding.textStatsPending.setText(String.valueOf(getCount(snapshot, StatsCounters.FIELD_PENDING)));
+                    binding.textStatsJobs.setText(String.valueOf(getCount(snapshot, StatsCounters.FIELD_ACTIVE_SERVICES)));
+                    binding.textStatsVolunteers.setText(String.valueOf(getCount(snapshot, StatsCounters.FIELD_TOTAL_APPLICATIONS)));
+                }));
+    }
+
+    /**
+     * Reads a counter field, treating a missing value as zero.
+     * @param snapshot The stats document.
+     * @param field The counter field name.
+     * @return The counter value.
+     */
+    private long getCount(DocumentSnapshot snapshot, String field) {
+        Long value = snapshot.getLong(field);
+        return value != null ? value : 0;
     }
 
     /**
@@ -165,19 +191,20 @@ public class OrgDashboardFragment extends Fragment {
     }
 
     /**
-     * Loads recent applications and recent service posts, combines them, and sorts by time.
+     * Shows the organization's activity feed, newest first. One listener covers the newest page;
+     * entries that scroll out of it stay in the list, and older pages are fetched on demand from
+     * a cursor, so reads grow with the items shown rather than with how much the org writes.
      */
     private void loadRecentActivity() {
         if (mAuth.getCurrentUser() == null) return;
         String orgId = mAuth.getCurrentUser().getUid();
 
-        activityList.clear();
+        recentActivity.clear();
+        oldestActivity = null;
+        binding.btnLoadOlderActivity.setOnClickListener(v -> loadOlderActivity(orgId));
 
-        // 1. Get recent applications
-        db.collection("applications")
-                .whereEqualTo("orgId", orgId)
-                .orderBy("appliedAt", Query.Direction.DESCENDING)
-                .limit(10)
+        listeners.add("activity", () -> ActivityFeed.newestFirst(db, orgId)
+                .limit(ACTIVITY_PAGE_SIZE)
                 .addSnapshotListener((snap, error) -> {
                     if (binding == null) return;
                     if (error != null || snap == null) {
@@ -185,61 +212,70 @@ public class OrgDashboardFragment extends Fragment {
                         return;
                     }
 
-                    activityList.clear();
-
-                    for (var doc : snap.getDocuments()) {
-                        Timestamp ts = doc.getTimestamp("appliedAt");
-                        if (ts == null) ts = Timestamp.now();
-
-                        String title = doc.getString("serviceTitle");
-                        String status = doc.getString("status");
-
-                        activityList.add(new RecentActivity(
-                                "Application: " + title + " (" + status + ")",
-                                ts
-                        ));
+                    if (snap.isEmpty() && !snap.getMetadata().isFromCache() && !activityBackfilled) {
+                        // Organizations with activity from before the feed existed: seed it once
+                        activityBackfilled = true;
+                        ActivityFeed.backfill(db, orgId)
+                                .addOnFailureListener(e -> Log.e(TAG, "Error backfilling activity feed", e));
                     }
 
-                    // 2. Load service postings next
-                    loadServiceActivity(orgId);
-                });
+                    recentActivity.apply(snap);
+                    if (oldestActivity == null && !snap.getMetadata().isFromCache()) {
+                        updateOlderCursor(snap);
+                    }
+                }));
     }
 
     /**
-     * Helper method to load service posting activities and update the adapter.
-     *
-     * @param orgId The Organization ID to filter services.
+     * Appends the next page of older feed entries after the oldest one shown.
+     * @param orgId The organization's ID.
      */
-    private void loadServiceActivity(String orgId) {
-        db.collection("services")
-                .whereEqualTo("orgId", orgId)
-                .orderBy("createdAt", Query.Direction.DESCENDING)
-                .limit(10)
+    private void loadOlderActivity(String orgId) {
+        if (oldestActivity == null) return;
+
+        binding.btnLoadOlderActivity.setEnabled(false);
+        ActivityFeed.newestFirst(db, orgId)
+                .startAfter(oldestActivity)
+                .limit(ACTIVITY_PAGE_SIZE)
                 .get()
-                .addOnSuccessListener(serviceSnap -> {
+                .addOnSuccessListener(snap -> {
                     if (binding == null) return;
+                    binding.btnLoadOlderActivity.setEnabled(true);
+                    recentActivity.apply(snap);
+                    updateOlderCursor(snap);
+                })
+                .addOnFailureListener(e -> {
+                    if (binding != null) binding.btnLoadOlderActivity.setEnabled(true);
+                    Log.e(TAG, "Error loading older activity", e);
+                });
+    }
 
-                    for (var doc : serviceSnap.getDocuments()) {
-                        Timestamp ts = doc.getTimestamp("createdAt");
-                        if (ts == null) ts = Timestamp.now();
-
-                        activityList.add(new RecentActivity(
-                                "New Service Posted: " + doc.getString("title"),
-                                ts
-                        ));
-                    }
-
-                    // Sort combined list: Newest → Oldest
-                    Collections.sort(activityList,
-                            Comparator.comparing(RecentActivity::getTimestamp).reversed()
-                    );
+    /**
+     * Moves the "load older" cursor to the last document of a page, and hides the button once a page comes back short.
+     * @param snap A page of the feed, newest first.
+     */
+    private void updateOlderCursor(QuerySnapshot snap) {
+        if (!snap.isEmpty()) {
+            oldestActivity = snap.getDocuments().get(snap.size() - 1);
+        }
+        binding.btnLoadOlderActivity.setVisibility(snap.size() < ACTIVITY_PAGE_SIZE ? View.GONE : View.VISIBLE);
+    }
 
-                    activityAdapter.notifyDataSetChanged();
-                });
+    /**
+     * Maps an activity feed entry to its list item.
+     * @param doc A document from "orgs/{orgId}/activity".
+     * @return The activity entry.
+     */
+    private RecentActivity toRecentActivity(DocumentSnapshot doc) {
+        // Entries written by this device show their local time until the server timestamp arrives
+        Timestamp ts = doc.getTimestamp(ActivityFeed.FIELD_CREATED_AT, DocumentSnapshot.ServerTimestampBehavior.ESTIMATE);
+        if (ts == null) ts = Timestamp.now();
+        return new RecentActivity(doc.getString(ActivityFeed.FIELD_MESSAGE), ts);
     }
 
     /**
      * Cleans up the binding when the view is destroyed to prevent memory leaks.
+     * The snapshot listeners are removed by their ListenerRegistry.
      */
     @Override
     public void onDestroyView() {
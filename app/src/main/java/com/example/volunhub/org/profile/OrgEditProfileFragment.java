@@ -24,10 +24,11 @@ import com.cloudinary.android.MediaManager;
 import com.cloudinary.android.callback.ErrorInfo;
 import com.cloudinary.android.callback.UploadCallback;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.FragmentOrgEditProfileBinding;
+import com.example.volunhub.models.UserProfile;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
@@ -42,7 +43,6 @@ public class OrgEditProfileFragment extends Fragment {
 
     private static final String TAG = "OrgEditProfile";
     private FragmentOrgEditProfileBinding binding;
-    private DocumentReference orgDocRef;
 
     private Uri selectedImageUri = null;
     private String currentImageUrl = null;
@@ -81,7 +81,6 @@ public class OrgEditProfileFragment extends Fragment {
         mAuth = FirebaseAuth.getInstance();
 
         if (mAuth.getCurrentUser() == null) return;
-        orgDocRef = db.collection("users").document(mAuth.getCurrentUser().getUid());
 
         setupValidationListeners();
         setupOrgFieldSpinner();
@@ -126,39 +125,41 @@ public class OrgEditProfileFragment extends Fragment {
     }
 
     /**
-     * Fetches current organization data from Firestore and populates the fields.
+     * Populates the fields from the session's cached profile.
+     * The fields are filled once, so later profile updates do not overwrite the user's edits.
      */
     private void loadCurrentProfileData() {
-        orgDocRef.get().addOnSuccessListener(documentSnapshot -> {
-            if (binding == null) return;
-            if (documentSnapshot.exists()) {
-                binding.editTextEditOrgName.setText(documentSnapshot.getString("orgCompanyName"));
-                binding.editTextEditOrgDesc.setText(documentSnapshot.getString("orgDescription"));
-                binding.autoCompleteEditOrgField.setText(documentSnapshot.getString("orgField"), false);
-
-                String contact = documentSnapshot.getString("contactNumber");
-                if (contact != null) {
-                    if (contact.startsWith("+60")) {
-                        binding.editTextEditOrgContact.setText(contact.substring(3));
-                    } else {
-                        binding.editTextEditOrgContact.setText(contact);
-                    }
+        UserSession session = UserSession.getInstance();
+        session.start(db, mAuth.getCurrentUser().getUid()).addOnSuccessListener(documentSnapshot -> {
+            UserProfile profile = session.getProfile();
+            if (binding == null || profile == null) return;
+
+            binding.editTextEditOrgName.setText(profile.getOrgCompanyName());
+            binding.editTextEditOrgDesc.setText(profile.getOrgDescription());
+            binding.autoCompleteEditOrgField.setText(profile.getOrgField(), false);
+
+            String contact = profile.getContactNumber();
+            if (contact != null) {
+                if (contact.startsWith("+60")) {
+                    binding.editTextEditOrgContact.setText(contact.substring(3));
+                } else {
+                    binding.editTextEditOrgContact.setText(contact);
                 }
+            }
 
-                currentImageUrl = documentSnapshot.getString("profileImageUrl");
-                if (currentImageUrl != null && !currentImageUrl.isEmpty()) {
-                    if (getContext() != null) {
-                        Glide.with(getContext())
-                                .load(currentImageUrl)
-                                .placeholder(R.drawable.ic_org_dashboard)
-                                .centerCrop()
-                                .into(binding.imageEditOrgLogo);
-                    }
-                } else {
-                    binding.imageEditOrgLogo.setImageResource(R.drawable.default_profile_picture);
+            currentImageUrl = profile.getProfileImageUrl();
+            if (currentImageUrl != null && !currentImageUrl.isEmpty()) {
+                if (getContext() != null) {
+                    Glide.with(getContext())
+                            .load(currentImageUrl)
+                            .placeholder(R.drawable.ic_org_dashboard)
+                            .centerCrop()
+                            .into(binding.imageEditOrgLogo);
                 }
+            } else {
+                binding.imageEditOrgLogo.setImageResource(R.drawable.default_profile_picture);
             }
-        });
+        }).addOnFailureListener(e -> Log.e(TAG, "Error loading profile data", e));
     }
 
     /**
@@ -248,7 +249,7 @@ public class OrgEditProfileFragment extends Fragment {
 
         // If name unchanged, standard update
         if (newName == null) {
-            orgDocRef.update(updates)
+            UserSession.getInstance().update(updates)
                     .addOnSuccessListener(aVoid -> finishUpdate(true))
                     .addOnFailureListener(e -> finishUpdate(false));
             return;
@@ -269,8 +270,6 @@ public class OrgEditProfileFragment extends Fragment {
 
                     var batch = db.batch();
 
-                    batch.update(orgDocRef, updates);
-
                     for (var doc : serviceSnapshots) {
                         batch.update(doc.getReference(), "orgName", newName);
                     }
@@ -278,7 +277,8 @@ public class OrgEditProfileFragment extends Fragment {
                         batch.update(doc.getReference(), "orgName", newName);
                     }
 
-                    batch.commit()
+                    // Commits the batch with the profile update, which the session applies right away
+                    UserSession.getInstance().update(batch, updates)
                             .addOnSuccessListener(aVoid -> finishUpdate(true))
                             .addOnFailureListener(e -> finishUpdate(false));
                 })
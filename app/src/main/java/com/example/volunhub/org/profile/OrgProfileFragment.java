@@ -15,7 +15,9 @@ import androidx.navigation.Navigation;
 
 import com.bumptech.glide.Glide;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.FragmentOrgProfileBinding;
+import com.example.volunhub.models.UserProfile;
 import com.example.volunhub.org.OrgHomeActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -30,6 +32,7 @@ public class OrgProfileFragment extends Fragment {
     private FragmentOrgProfileBinding binding;
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
+    private final UserSession.Listener profileListener = this::showProfile;
 
     public OrgProfileFragment() {}
 
@@ -93,49 +96,56 @@ public class OrgProfileFragment extends Fragment {
     }
 
     /**
-     * Fetches and displays the organization's profile data from Firestore.
+     * Starts the user session if needed and shows the profile whenever it changes.
      */
     private void loadProfileData() {
         if (mAuth.getCurrentUser() == null) return;
         String orgId = mAuth.getCurrentUser().getUid();
 
-        db.collection("users").document(orgId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (binding == null || !documentSnapshot.exists()) return;
-
-                    // Header Info
-                    String orgName = documentSnapshot.getString("orgCompanyName");
-                    binding.textOrgProfileName.setText(orgName != null ? orgName : "Organization Name");
-
-                    String orgField = documentSnapshot.getString("orgField");
-                    binding.textOrgProfileField.setText(orgField != null ? orgField : "Field not specified");
-
-                    // Contact Info
-                    String email = documentSnapshot.getString("email");
-                    binding.textOrgProfileEmail.setText(email != null ? email : "No email");
-
-                    String contact = documentSnapshot.getString("contactNumber");
-                    binding.textOrgProfilePhone.setText(contact != null ? contact : "No contact number");
-
-                    // Description
-                    String orgDesc = documentSnapshot.getString("orgDescription");
-                    binding.textOrgProfileDesc.setText(orgDesc != null ? orgDesc : "No description provided yet.");
-
-                    // Logo
-                    if (getContext() != null) {
-                        String imageUrl = documentSnapshot.getString("profileImageUrl");
-                        if (imageUrl != null && !imageUrl.trim().isEmpty()) {
-                            Glide.with(getContext())
-                                    .load(imageUrl)
-                                    .placeholder(R.drawable.ic_org_dashboard)
-                                    .centerCrop()
-                                    .into(binding.imageOrgProfileLogo);
-                        } else {
-                            binding.imageOrgProfileLogo.setImageResource(R.drawable.default_profile_picture);
-                        }
-                    }
-                })
+        UserSession.getInstance().start(db, orgId)
                 .addOnFailureListener(e -> Log.e(TAG, "Error loading org profile", e));
+        UserSession.getInstance().addListener(profileListener);
+    }
+
+    /**
+     * Displays the organization's profile from the session cache.
+     *
+     * @param profile The current profile.
+     */
+    private void showProfile(UserProfile profile) {
+        if (binding == null) return;
+
+        // Header Info
+        String orgName = profile.getOrgCompanyName();
+        binding.textOrgProfileName.setText(orgName != null ? orgName : "Organization Name");
+
+        String orgField = profile.getOrgField();
+        binding.textOrgProfileField.setText(orgField != null ? orgField : "Field not specified");
+
+        // Contact Info
+        String email = profile.getEmail();
+        binding.textOrgProfileEmail.setText(email != null ? email : "No email");
+
+        String contact = profile.getContactNumber();
+        binding.textOrgProfilePhone.setText(contact != null ? contact : "No contact number");
+
+        // Description
+        String orgDesc = profile.getOrgDescription();
+        binding.textOrgProfileDesc.setText(orgDesc != null ? orgDesc : "No description provided yet.");
+
+        // Logo
+        if (getContext() != null) {
+            String imageUrl = profile.getProfileImageUrl();
+            if (imageUrl != null && !imageUrl.trim().isEmpty()) {
+                Glide.with(getContext())
+                        .load(imageUrl)
+                        .placeholder(R.drawable.ic_org_dashboard)
+                        .centerCrop()
+                        .into(binding.imageOrgProfileLogo);
+            } else {
+                binding.imageOrgProfileLogo.setImageResource(R.drawable.default_profile_picture);
+            }
+        }
     }
 
     /**
@@ -144,6 +154,7 @@ public class OrgProfileFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        UserSession.getInstance().removeListener(profileListener);
         // Clear the toolbar menu when leaving this fragment to prevent logout button on other screens
         if (getActivity() != null) {
             Toolbar toolbar = getActivity().findViewById(R.id.toolbar);
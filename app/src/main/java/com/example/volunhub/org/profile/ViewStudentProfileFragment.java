@@ -12,8 +12,8 @@ import androidx.fragment.app.Fragment;
 
 import com.bumptech.glide.Glide;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserProfileCache;
 import com.example.volunhub.databinding.FragmentViewStudentProfileBinding;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * Allows the Organization to view the detailed profile of a Student applicant.
@@ -22,7 +22,6 @@ public class ViewStudentProfileFragment extends Fragment {
 
     private static final String TAG = "ViewStudentProfile";
     private FragmentViewStudentProfileBinding binding;
-    private FirebaseFirestore db;
     private String studentId;
 
     public ViewStudentProfileFragment() {}
@@ -64,8 +63,6 @@ public class ViewStudentProfileFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        db = FirebaseFirestore.getInstance();
-
         if (studentId != null && !studentId.isEmpty()) {
             loadStudentProfileData(studentId);
         } else {
@@ -74,45 +71,36 @@ public class ViewStudentProfileFragment extends Fragment {
     }
 
     /**
-     * Fetches and displays the student's data from Firestore.
+     * Loads the student's profile through the shared profile cache and displays it.
      *
      * @param studentId The UID of the student to load.
      */
     private void loadStudentProfileData(String studentId) {
-        db.collection("users").document(studentId).get()
-                .addOnSuccessListener(documentSnapshot -> {
+        UserProfileCache.getInstance().get(studentId)
+                .addOnSuccessListener(profile -> {
                     if (binding == null) return;
-                    if (documentSnapshot.exists()) {
-                        binding.textViewStudentName.setText(documentSnapshot.getString("studentName"));
-
-                        // Safe Age Handling
-                        String ageText;
-                        try {
-                            Object ageObj = documentSnapshot.get("studentAge");
-                            ageText = (ageObj != null) ? String.valueOf(ageObj) : "N/A";
-                        } catch (Exception e) {
-                            ageText = "N/A";
-                        }
+                    if (profile != null) {
+                        binding.textViewStudentName.setText(profile.getStudentName());
 
-                        String gender = documentSnapshot.getString("studentGender");
-                        String genderText = (gender != null) ? gender : "N/A";
+                        String ageText = (profile.getStudentAge() != null) ? profile.getStudentAge() : "N/A";
+                        String genderText = (profile.getStudentGender() != null) ? profile.getStudentGender() : "N/A";
                         binding.textViewStudentAgeGender.setText(ageText + " Years Old • " + genderText);
 
-                        String email = documentSnapshot.getString("email");
+                        String email = profile.getEmail();
                         binding.textViewStudentEmail.setText(email != null ? email : getString(R.string.not_available));
 
-                        String phone = documentSnapshot.getString("contactNumber");
+                        String phone = profile.getContactNumber();
                         binding.textViewStudentPhone.setText(phone != null ? phone : getString(R.string.not_available));
 
-                        String intro = documentSnapshot.getString("studentIntroduction");
+                        String intro = profile.getStudentIntroduction();
                         binding.textViewStudentIntro.setText(intro != null ? intro : "No introduction provided.");
 
-                        String exp = documentSnapshot.getString("studentExperience");
+                        String exp = profile.getStudentExperience();
                         binding.textViewStudentExp.setText(exp != null ? exp : "No experience listed.");
 
                         if (getContext() != null) {
                             Glide.with(getContext())
-                                    .load(documentSnapshot.getString("profileImageUrl"))
+                                    .load(profile.getProfileImageUrl())
                                     .placeholder(R.drawable.default_profile_picture)
                                     .centerCrop()
                                     .into(binding.imageViewStudentPhoto);
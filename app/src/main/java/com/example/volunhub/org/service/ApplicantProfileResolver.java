@@ -0,0 +1,72 @@
+package com.example.volunhub.org.service;
+
+import android.util.Log;
+
+import com.example.volunhub.data.UserProfileCache;
+import com.example.volunhub.models.Applicant;
+import com.example.volunhub.models.UserProfile;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins application documents with their students' profiles to build Applicant objects.
+ * Used by the Pending, Accepted and Rejected applicant tabs. Profiles come from the shared
+ * UserProfileCache, so students listed on several tabs are read once.
+ */
+public class ApplicantProfileResolver {
+
+    private static final String TAG = "ApplicantResolver";
+    private final UserProfileCache profileCache;
+
+    public ApplicantProfileResolver(UserProfileCache profileCache) {
+        this.profileCache = profileCache;
+    }
+
+    /**
+     * Resolves the student profiles for the given applications; uncached ones are read with batched whereIn queries.
+     * The join is done by student ID, so applications with a missing studentId or a deleted
+     * user document are skipped without shifting the others.
+     * @param applicationDocs The application documents, in display order.
+     * @return A task resolving to the applicants, in the same order as the applications.
+     */
+    public Task<List<Applicant>> resolve(List<DocumentSnapshot> applicationDocs) {
+        List<String> studentIds = new ArrayList<>();
+        for (DocumentSnapshot appDoc : applicationDocs) {
+            studentIds.add(appDoc.getString("studentId"));
+        }
+
+        return profileCache.getAll(studentIds)
+                .continueWith(task -> buildApplicants(applicationDocs, task.getResult()));
+    }
+
+    /**
+     * Builds the Applicant list by matching each application to its student's profile by ID.
+     * @param applicationDocs The application documents.
+     * @param profilesById The found profiles keyed by user ID.
+     * @return The list of applicants whose profile was found.
+     */
+    private List<Applicant> buildApplicants(List<DocumentSnapshot> applicationDocs, Map<String, UserProfile> profilesById) {
+        List<Applicant> applicants = new ArrayList<>();
+        for (DocumentSnapshot appDoc : applicationDocs) {
+            String studentId = appDoc.getString("studentId");
+            UserProfile profile = (studentId != null) ? profilesById.get(studentId) : null;
+            if (profile == null) {
+                Log.w(TAG, "No profile for application " + appDoc.getId());
+                continue;
+            }
+
+            Applicant applicant = new Applicant();
+            applicant.setApplicationId(appDoc.getId());
+            applicant.setStudentId(profile.getUid());
+            applicant.setStudentName(profile.getStudentName());
+            applicant.setStudentIntroduction(profile.getStudentIntroduction());
+            applicant.setProfileImageUrl(profile.getProfileImageUrl());
+            applicants.add(applicant);
+        }
+        return applicants;
+    }
+}
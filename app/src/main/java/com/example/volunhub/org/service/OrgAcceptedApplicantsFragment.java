@@ -15,11 +15,10 @@ import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserProfileCache;
 import com.example.volunhub.databinding.FragmentOrgAcceptedApplicantsBinding;
 import com.example.volunhub.models.Applicant;
 import com.example.volunhub.org.adapters.ApplicantAdapter;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
@@ -34,6 +33,7 @@ public class OrgAcceptedApplicantsFragment extends Fragment {
     private FragmentOrgAcceptedApplicantsBinding binding;
     private FirebaseFirestore db;
     private ApplicantAdapter adapter;
+    private ApplicantProfileResolver applicantResolver;
     private final List<Applicant> applicantList = new ArrayList<>();
     private String serviceId;
 
@@ -86,6 +86,7 @@ public class OrgAcceptedApplicantsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         db = FirebaseFirestore.getInstance();
+        applicantResolver = new ApplicantProfileResolver(UserProfileCache.getInstance());
 
         setupRecyclerView();
         loadAcceptedApplicants();
@@ -112,7 +113,7 @@ public class OrgAcceptedApplicantsFragment extends Fragment {
         };
 
         // Pass "Accepted" as the tabMode to hide buttons
-        adapter = new ApplicantAdapter(getContext(), applicantList, "Accepted", listener);
+        adapter = new ApplicantAdapter(getContext(), "Accepted", listener);
         binding.recyclerAcceptedApplicants.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.recyclerAcceptedApplicants.setAdapter(adapter);
     }
@@ -140,34 +141,14 @@ public class OrgAcceptedApplicantsFragment extends Fragment {
 
                     binding.textEmptyAccepted.setVisibility(View.GONE);
 
-                    List<Task<com.google.firebase.firestore.DocumentSnapshot>> userTasks = new ArrayList<>();
-                    for (com.google.firebase.firestore.DocumentSnapshot appDoc : applicationSnapshots.getDocuments()) {
-                        String studentId = appDoc.getString("studentId");
-                        if (studentId != null) {
-                            userTasks.add(db.collection("users").document(studentId).get());
-                        }
-                    }
-
-                    Tasks.whenAllSuccess(userTasks).addOnSuccessListener(userSnapshots -> {
-                        applicantList.clear();
-                        for (int i = 0; i < userSnapshots.size(); i++) {
-                            com.google.firebase.firestore.DocumentSnapshot userDoc =
-                                    (com.google.firebase.firestore.DocumentSnapshot) userSnapshots.get(i);
-                            com.google.firebase.firestore.DocumentSnapshot appDoc =
-                                    applicationSnapshots.getDocuments().get(i);
-
-                            if (userDoc.exists()) {
-                                Applicant applicant = new Applicant();
-                                applicant.setApplicationId(appDoc.getId());
-                                applicant.setStudentId(userDoc.getId());
-                                applicant.setStudentName(userDoc.getString("studentName"));
-                                applicant.setStudentIntroduction(userDoc.getString("studentIntroduction"));
-                                applicant.setProfileImageUrl(userDoc.getString("profileImageUrl"));
-                                applicantList.add(applicant);
-                            }
-                        }
-                        adapter.notifyDataSetChanged();
-                    });
+                    applicantResolver.resolve(applicationSnapshots.getDocuments())
+                            .addOnSuccessListener(applicants -> {
+                                if (binding == null) return;
+                                applicantList.clear();
+                                applicantList.addAll(applicants);
+                                adapter.submitList(new ArrayList<>(applicantList));
+                            })
+                            .addOnFailureListener(e -> Log.e(TAG, "Error loading accepted applicant profiles", e));
                 })
                 .addOnFailureListener(e ->
                         Log.e(TAG, "Error loading accepted applicants", e)
@@ -14,12 +14,16 @@ import androidx.fragment.app.Fragment;
 import androidx.navigation.Navigation;
 
 import com.example.volunhub.R;
+import com.example.volunhub.data.ListenerRegistry;
+import com.example.volunhub.data.StatsCounters;
+import com.example.volunhub.data.StatsRepair;
 import com.example.volunhub.databinding.FragmentOrgManageServiceBinding;
 import com.example.volunhub.models.Service;
 import com.example.volunhub.org.adapters.OrgManageViewPagerAdapter;
 import com.google.android.material.tabs.TabLayout;
 import com.google.android.material.tabs.TabLayoutMediator;
-import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
@@ -37,6 +41,8 @@ public class OrgManageServiceFragment extends Fragment {
     private FragmentOrgManageServiceBinding binding;
     private String serviceId;
     private Service currentService;
+    private ListenerRegistry listeners;
+    private boolean statsRepairStarted = false;
 
     public OrgManageServiceFragment() {}
 
@@ -76,6 +82,7 @@ public class OrgManageServiceFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         db = FirebaseFirestore.getInstance();
+        listeners = ListenerRegistry.bind(getViewLifecycleOwner());
 
         loadServiceDetails();
 
@@ -92,13 +99,7 @@ public class OrgManageServiceFragment extends Fragment {
                 }
         ).attach();
 
-        getChildFragmentManager().setFragmentResultListener("KEY_REFRESH_COUNTS", this,
-                (requestKey, result) -> {
-                    Log.d(TAG, "Received refresh signal from child fragment. Updating tabs...");
-                    updateTabCounts();
-                });
-
-        updateTabCounts();
+        listenToTabCounts();
 
         binding.buttonDeleteService.setOnClickListener(v -> showDeleteConfirmationDialog());
     }
@@ -156,40 +157,49 @@ public class OrgManageServiceFragment extends Fragment {
     }
 
     /**
-     * Queries Firestore to count applicants for each status and updates tab titles.
+     * Listens to the service's "serviceStats" document and updates the tab titles with its counters.
+     * The document is kept current by every status change, so the tabs update without re-counting.
      */
-    private void updateTabCounts() {
+    private void listenToTabCounts() {
         if (serviceId == null) return;
 
-        // Count Pending
-        db.collection("applications")
-                .whereEqualTo("serviceId", serviceId)
-                .whereEqualTo("status", "Pending")
-                .count()
-                .get(AggregateSource.SERVER)
-                .addOnSuccessListener(snapshot -> {
-                    updateTabTitle(0, getString(R.string.tab_pending), snapshot.getCount());
-                });
+        listeners.add("stats", () -> StatsCounters.serviceStatsRef(db, serviceId)
+                .addSnapshotListener((snapshot, error) -> {
+                    if (binding == null) return;
+                    if (error != null || snapshot == null) {
+                        Log.e(TAG, "Error listening to service stats", error);
+                        return;
+                    }
 
-        // Count Accepted
-        db.collection("applications")
-                .whereEqualTo("serviceId", serviceId)
-                .whereEqualTo("status", "Accepted")
-                .count()
-                .get(AggregateSource.SERVER)
-                .addOnSuccessListener(snapshot -> {
-                    updateTabTitle(1, getString(R.string.tab_accepted), snapshot.getCount());
-                });
+                    if (StatsCounters.needsRepair(snapshot)) {
+                        // Missing or partial (created by an early increment): only trust that once the server has confirmed it
+                        if (!snapshot.getMetadata().isFromCache() && !statsRepairStarted) {
+                            statsRepairStarted = true;
+                            Log.d(TAG, "Stats document missing or never built. Rebuilding from applications...");
+                            new StatsRepair(db).recomputeService(serviceId)
+                                    .addOnFailureListener(e -> {
+                                        statsRepairStarted = false;
+                                        Log.e(TAG, "Error rebuilding service stats", e);
+                                    });
+                        }
+                        return;
+                    }
 
-        // Count Rejected
-        db.collection("applications")
-                .whereEqualTo("serviceId", serviceId)
-                .whereEqualTo("status", "Rejected")
-                .count()
-                .get(AggregateSource.SERVER)
-                .addOnSuccessListener(snapshot -> {
-                    updateTabTitle(2, getString(R.string.tab_rejected), snapshot.getCount());
-                });
+                    updateTabTitle(0, getString(R.string.tab_pending), getCount(snapshot, StatsCounters.FIELD_PENDING));
+                    updateTabTitle(1, getString(R.string.tab_accepted), getCount(snapshot, StatsCounters.FIELD_ACCEPTED));
+                    updateTabTitle(2, getString(R.string.tab_rejected), getCount(snapshot, StatsCounters.FIELD_REJECTED));
+                }));
+    }
+
+    /**
+     * Reads a counter field, treating a missing value as zero.
+     * @param snapshot The stats document.
+     * @param field The counter field name.
+     * @return The counter value.
+     */
+    private long getCount(DocumentSnapshot snapshot, String field) {
+        Long value = snapshot.getLong(field);
+        return value != null ? value : 0;
     }
 
     /**
@@ -228,6 +238,7 @@ public class OrgManageServiceFragment extends Fragment {
 
     /**
      * Deletes the service from Firestore and navigates back.
+     * Decrements the organization's Active service counter in the same transaction if needed.
      */
     private void deleteService() {
         if (serviceId == null) {
@@ -235,9 +246,18 @@ public class OrgManageServiceFragment extends Fragment {
             return;
         }
 
-        db.collection("services").document(serviceId)
-                .delete()
-                .addOnSuccessListener(aVoid -> {
+        final DocumentReference serviceRef = db.collection("services").document(serviceId);
+        db.runTransaction(transaction -> {
+                    DocumentSnapshot serviceSnapshot = transaction.get(serviceRef);
+                    if (!serviceSnapshot.exists()) return null;
+
+                    transaction.delete(serviceRef);
+                    if ("Active".equals(serviceSnapshot.getString("status"))) {
+                        StatsCounters.applyActiveServiceChange(transaction, db, serviceSnapshot.getString("orgId"), -1);
+                    }
+                    return null;
+                })
+                .addOnSuccessListener(result -> {
                     Log.d(TAG, "Service deleted successfully: " + serviceId);
                     Toast.makeText(getContext(), R.string.delete_success, Toast.LENGTH_SHORT).show();
                     Navigation.findNavController(requireView()).popBackStack();
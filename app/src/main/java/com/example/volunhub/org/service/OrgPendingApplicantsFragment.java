@@ -1,10 +1,12 @@
 package com.example.volunhub.org.service;
 
+import android.app.AlertDialog;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Button;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -14,15 +16,19 @@ import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.example.volunhub.data.ActivityFeed;
+import com.example.volunhub.data.BulkRejections;
+import com.example.volunhub.data.BulkResult;
+import com.example.volunhub.data.ServiceSlots;
+import com.example.volunhub.data.StatsCounters;
+import com.example.volunhub.data.UserProfileCache;
 import com.example.volunhub.databinding.FragmentOrgPendingApplicantsBinding;
 import com.example.volunhub.models.Applicant;
 import com.example.volunhub.org.adapters.ApplicantAdapter;
 import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +42,7 @@ public class OrgPendingApplicantsFragment extends Fragment {
     private FragmentOrgPendingApplicantsBinding binding;
     private FirebaseFirestore db;
     private ApplicantAdapter adapter;
+    private ApplicantProfileResolver applicantResolver;
     private final List<Applicant> applicantList = new ArrayList<>();
     private String serviceId;
 
@@ -88,6 +95,7 @@ public class OrgPendingApplicantsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         db = FirebaseFirestore.getInstance();
+        applicantResolver = new ApplicantProfileResolver(UserProfileCache.getInstance());
         setupRecyclerView();
         setupAcceptAllButton();
         loadPendingApplicants();
@@ -98,6 +106,13 @@ public class OrgPendingApplicantsFragment extends Fragment {
      */
     private void setupAcceptAllButton() {
         binding.btnAcceptAll.setOnClickListener(v -> acceptAllEligible());
+        binding.btnRejectSelected.setOnClickListener(v -> rejectSelected());
+        binding.btnCloseAndReject.setOnClickListener(v -> new AlertDialog.Builder(requireContext())
+                .setTitle("Close service?")
+                .setMessage("The service will be closed and every pending applicant rejected.")
+                .setPositiveButton("Close & Reject", (dialog, which) -> closeAndRejectRest())
+                .setNegativeButton("Cancel", (dialog, which) -> dialog.dismiss())
+                .show());
     }
 
     /**
@@ -115,13 +130,20 @@ public class OrgPendingApplicantsFragment extends Fragment {
             }
         };
 
-        adapter = new ApplicantAdapter(getContext(), applicantList, "Pending", listener);
+        adapter = new ApplicantAdapter(getContext(), "Pending", listener);
+        adapter.enableSelection(count -> {
+            if (binding == null) return;
+            binding.btnRejectSelected.setVisibility(count > 0 ? View.VISIBLE : View.GONE);
+            binding.btnRejectSelected.setText("Reject Selected (" + count + ")");
+        });
         binding.recyclerPendingApplicants.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.recyclerPendingApplicants.setAdapter(adapter);
     }
 
     /**
      * Updates the status of an application in Firestore (Accepted/Rejected).
+     * Accepting claims one of the service's slots (see ServiceSlots), so organizers accepting
+     * at the same time never push the service over capacity.
      * @param applicant The applicant to update.
      * @param newStatus The new status string.
      */
@@ -131,45 +153,56 @@ public class OrgPendingApplicantsFragment extends Fragment {
             return;
         }
 
-        final DocumentReference serviceRef = db.collection("services").document(serviceId);
-        final DocumentReference appRef = db.collection("applications").document(applicant.getApplicationId());
-
-        db.runTransaction(transaction -> {
-            DocumentSnapshot appSnapshot = transaction.get(appRef);
-            if (!appSnapshot.exists()) throw new IllegalStateException("Application not found");
-
-            DocumentSnapshot serviceSnapshot = transaction.get(serviceRef);
-            if (!serviceSnapshot.exists()) throw new IllegalStateException("Service not found");
-
-            transaction.update(appRef, "status", newStatus);
-
-            if (newStatus.equals("Accepted")) {
-                long applied = serviceSnapshot.getLong("volunteersApplied") != null ? serviceSnapshot.getLong("volunteersApplied") : 0;
-                long needed = serviceSnapshot.getLong("volunteersNeeded") != null ? serviceSnapshot.getLong("volunteersNeeded") : 0;
-                long newCount = applied + 1;
-
-                transaction.update(serviceRef, "volunteersApplied", newCount);
+        Task<Void> update;
+        if (newStatus.equals("Accepted")) {
+            update = ServiceSlots.accept(db, serviceId, applicant.getApplicationId());
+        } else {
+            update = rejectApplication(applicant.getApplicationId());
+        }
 
-                if (newCount >= needed) {
-                    transaction.update(serviceRef, "status", "Closed");
-                }
-            }
-            return null;
-        }).addOnSuccessListener(result -> {
+        update.addOnSuccessListener(result -> {
+            if (binding == null) return;
             Toast.makeText(getContext(), "Application " + newStatus.toLowerCase() + " successfully", Toast.LENGTH_SHORT).show();
 
             int position = applicantList.indexOf(applicant);
             if (position != -1) {
                 applicantList.remove(position);
-                adapter.notifyItemRemoved(position);
+                adapter.submitList(new ArrayList<>(applicantList));
                 if (applicantList.isEmpty()) binding.textEmptyPending.setVisibility(View.VISIBLE);
-                notifyParentToUpdateCounts();
             } else {
                 loadPendingApplicants();
             }
         }).addOnFailureListener(e -> {
             Log.e(TAG, "Failed to update status", e);
-            Toast.makeText(getContext(), "Update failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
+            if (ServiceSlots.isFull(e)) {
+                Toast.makeText(getContext(), "Service is already full!", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(getContext(), "Update failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /**
+     * Rejects a Pending application and updates the stats counters and activity feed in a transaction.
+     * @param applicationId The application's document ID.
+     * @return A task that completes when the application is rejected.
+     */
+    private Task<Void> rejectApplication(String applicationId) {
+        final DocumentReference appRef = db.collection("applications").document(applicationId);
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot appSnapshot = transaction.get(appRef);
+            if (!appSnapshot.exists()) throw new IllegalStateException("Application not found");
+
+            String oldStatus = appSnapshot.getString("status");
+            if (!"Pending".equals(oldStatus)) throw new IllegalStateException("Application is already " + oldStatus);
+
+            transaction.update(appRef, "status", "Rejected");
+            String orgId = appSnapshot.getString("orgId");
+            StatsCounters.applyStatusChange(transaction, db, orgId, serviceId, oldStatus, "Rejected", 1);
+            ActivityFeed.record(transaction, db, orgId, ActivityFeed.TYPE_STATUS,
+                    ActivityFeed.applicationMessage(appSnapshot.getString("serviceTitle"), "Rejected"), serviceId);
+            return null;
         });
     }
 
@@ -186,46 +219,29 @@ public class OrgPendingApplicantsFragment extends Fragment {
                 .addOnSuccessListener(applicationSnapshots -> {
                     if(binding == null) return;
                     if (applicationSnapshots.isEmpty()) {
+                        applicantList.clear();
+                        adapter.submitList(new ArrayList<>());
                         binding.textEmptyPending.setVisibility(View.VISIBLE);
                         return;
                     }
 
                     binding.textEmptyPending.setVisibility(View.GONE);
-                    List<Task<com.google.firebase.firestore.DocumentSnapshot>> userTasks = new ArrayList<>();
-
-                    for (com.google.firebase.firestore.DocumentSnapshot appDoc : applicationSnapshots.getDocuments()) {
-                        String studentId = appDoc.getString("studentId");
-                        if (studentId != null) {
-                            userTasks.add(db.collection("users").document(studentId).get());
-                        }
-                    }
-
-                    Tasks.whenAllSuccess(userTasks).addOnSuccessListener(userSnapshots -> {
-                        applicantList.clear();
-                        for (int i = 0; i < userSnapshots.size(); i++) {
-                            com.google.firebase.firestore.DocumentSnapshot userDoc =
-                                    (com.google.firebase.firestore.DocumentSnapshot) userSnapshots.get(i);
-                            com.google.firebase.firestore.DocumentSnapshot appDoc =
-                                    applicationSnapshots.getDocuments().get(i);
-
-                            if (userDoc.exists()) {
-                                Applicant applicant = new Applicant();
-                                applicant.setApplicationId(appDoc.getId());
-                                applicant.setStudentId(userDoc.getId());
-                                applicant.setStudentName(userDoc.getString("studentName"));
-                                applicant.setStudentIntroduction(userDoc.getString("studentIntroduction"));
-                                applicant.setProfileImageUrl(userDoc.getString("profileImageUrl"));
-                                applicantList.add(applicant);
-                            }
-                        }
-                        adapter.notifyDataSetChanged();
-                    });
+                    applicantResolver.resolve(applicationSnapshots.getDocuments())
+                            .addOnSuccessListener(applicants -> {
+                                if (binding == null) return;
+                                applicantList.clear();
+                                applicantList.addAll(applicants);
+                                adapter.submitList(new ArrayList<>(applicantList));
+                            })
+                            .addOnFailureListener(e -> Log.e(TAG, "Error loading pending applicant profiles", e));
                 })
                 .addOnFailureListener(e -> Log.e(TAG, "Error loading pending applicants", e));
     }
 
     /**
-     * Batch accepts all eligible applicants until the service is full.
+     * Accepts the pending applicants in list order until the service is full.
+     * Runs in chunked transactions (see ServiceSlots.acceptAll), showing progress on the button.
+     * If it stops partway, tapping again continues with the applicants that are still pending.
      */
     private void acceptAllEligible() {
         if (serviceId == null || applicantList.isEmpty()) {
@@ -233,56 +249,96 @@ public class OrgPendingApplicantsFragment extends Fragment {
             return;
         }
 
-        DocumentReference serviceRef = db.collection("services").document(serviceId);
-        serviceRef.get().addOnSuccessListener(serviceSnapshot -> {
-            if (binding == null || !serviceSnapshot.exists()) return;
+        List<String> applicationIds = new ArrayList<>();
+        for (Applicant applicant : applicantList) {
+            if (applicant.getApplicationId() != null) applicationIds.add(applicant.getApplicationId());
+        }
 
-            Long needed = serviceSnapshot.getLong("volunteersNeeded");
-            Long applied = serviceSnapshot.getLong("volunteersApplied");
-            if (needed == null) needed = 0L;
-            if (applied == null) applied = 0L;
+        setBulkActionsEnabled(false);
+        binding.btnAcceptAll.setText("Accepting...");
 
-            long slotsRemaining = needed - applied;
-            if (slotsRemaining <= 0) {
+        ServiceSlots.acceptAll(db, serviceId, applicationIds, (accepted, processed, total) -> {
+            if (binding == null) return;
+            binding.btnAcceptAll.setText("Accepting " + processed + "/" + total + "...");
+        }).addOnSuccessListener(result -> {
+            if (binding == null) return;
+            setBulkActionsEnabled(true);
+            binding.btnAcceptAll.setText("Accept All");
+
+            if (result.error != null) {
+                Log.e(TAG, "Bulk accept stopped early", result.error);
+                Toast.makeText(getContext(), "Accepted " + result.succeeded + " applicants before an error. Tap Accept All to continue.", Toast.LENGTH_LONG).show();
+            } else if (result.succeeded == 0 && result.full) {
                 Toast.makeText(getContext(), "Service is already full!", Toast.LENGTH_SHORT).show();
-                return;
-            }
-
-            List<Applicant> applicantsToAccept = new ArrayList<>();
-            int countToAccept = Math.min(applicantList.size(), (int) slotsRemaining);
-
-            for (int i = 0; i < countToAccept; i++) {
-                applicantsToAccept.add(applicantList.get(i));
+            } else {
+                Toast.makeText(getContext(), "Auto-accepted " + result.succeeded + " applicants", Toast.LENGTH_SHORT).show();
             }
+            loadPendingApplicants();
+        });
+    }
 
-            WriteBatch batch = db.batch();
-            for (Applicant applicant : applicantsToAccept) {
-                DocumentReference appRef = db.collection("applications").document(applicant.getApplicationId());
-                batch.update(appRef, "status", "Accepted");
-            }
+    /**
+     * Rejects the applicants selected with a long press, in chunked batches.
+     */
+    private void rejectSelected() {
+        List<String> applicationIds = adapter.getSelectedIds();
+        if (applicationIds.isEmpty()) return;
+
+        setBulkActionsEnabled(false);
+        Button button = binding.btnRejectSelected;
+        button.setText("Rejecting...");
+        BulkRejections.reject(db, applicationIds, (rejected, processed, total) -> showRejectProgress(button, processed, total))
+                .addOnSuccessListener(result -> onRejectFinished(button, "Reject Selected", result));
+    }
 
-            long newApplied = applied + applicantsToAccept.size();
-            batch.update(serviceRef, "volunteersApplied", newApplied);
+    /**
+     * Closes the service and rejects every remaining pending applicant, in chunked batches.
+     */
+    private void closeAndRejectRest() {
+        if (serviceId == null) return;
 
-            if (newApplied >= needed) {
-                batch.update(serviceRef, "status", "Closed");
-            }
+        setBulkActionsEnabled(false);
+        Button button = binding.btnCloseAndReject;
+        button.setText("Closing...");
+        BulkRejections.closeAndRejectRemaining(db, serviceId, (rejected, processed, total) -> showRejectProgress(button, processed, total))
+                .addOnSuccessListener(result -> onRejectFinished(button, "Close & Reject Rest", result));
+    }
 
-            batch.commit().addOnSuccessListener(aVoid -> {
-                Toast.makeText(getContext(), "Auto-accepted " + applicantsToAccept.size() + " applicants", Toast.LENGTH_SHORT).show();
-                loadPendingApplicants();
-                notifyParentToUpdateCounts();
-            }).addOnFailureListener(e -> Toast.makeText(getContext(), "Error: " + e.getMessage(), Toast.LENGTH_LONG).show());
-        });
+    /**
+     * Shows rejection progress on the button that started it.
+     * @param button The button of the running flow.
+     */
+    private void showRejectProgress(Button button, int processed, int total) {
+        if (binding == null) return;
+        button.setText("Rejecting " + processed + "/" + total + "...");
     }
 
     /**
-     * Sends a signal to the parent fragment to refresh the tab counts.
+     * Restores the bulk actions once a rejection flow has finished and reports its outcome.
+     * @param button The button of the finished flow.
+     * @param label The button's idle label.
+     * @param result The outcome.
      */
-    private void notifyParentToUpdateCounts() {
-        Bundle result = new Bundle();
-        result.putBoolean("refresh", true);
-        getParentFragmentManager().setFragmentResult("KEY_REFRESH_COUNTS", result);
+    private void onRejectFinished(Button button, String label, BulkResult result) {
+        if (binding == null) return;
+        setBulkActionsEnabled(true);
+        button.setText(label);
+        // Also relabels and hides "Reject Selected" through the selection listener
+        adapter.clearSelection();
+
+        if (result.error != null) {
+            Log.e(TAG, "Bulk reject stopped early", result.error);
+            Toast.makeText(getContext(), "Rejected " + result.succeeded + " applicants before an error. Please try again.", Toast.LENGTH_LONG).show();
+        } else {
+            Toast.makeText(getContext(), "Rejected " + result.succeeded + " applicants", Toast.LENGTH_SHORT).show();
+        }
+        loadPendingApplicants();
+    }
+
+    private void setBulkActionsEnabled(boolean enabled) {
+        binding.btnAcceptAll.setEnabled(enabled);
+        binding.btnRejectSelected.setEnabled(enabled);
+        binding.btnCloseAndReject.setEnabled(enabled);
     }
 
     /**
@@ -15,11 +15,18 @@ import androidx.fragment.app.Fragment;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 
+import com.example.volunhub.data.ActivityFeed;
+import com.example.volunhub.data.SearchKeywords;
+import com.example.volunhub.data.StatsCounters;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.FragmentOrgPostServiceBinding;
+import com.example.volunhub.models.UserProfile;
 import com.google.android.material.datepicker.MaterialDatePicker;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -140,7 +147,7 @@ public class OrgPostServiceFragment extends Fragment {
     }
 
     /**
-     * Validates form inputs and fetches current organization details before saving to Firestore.
+     * Validates form inputs and reads the organization's name from the user session before saving to Firestore.
      */
     private void postService() {
         String title = getSafeText(binding.editTextPostServiceTitle.getText());
@@ -197,10 +204,13 @@ public class OrgPostServiceFragment extends Fragment {
             return;
         }
 
-        db.collection("users").document(orgId).get()
+        // The organization's name comes from the session's cached profile
+        UserSession session = UserSession.getInstance();
+        session.start(db, orgId)
                 .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        String orgName = documentSnapshot.getString("orgCompanyName");
+                    UserProfile profile = session.getProfile();
+                    if (profile != null) {
+                        String orgName = profile.getOrgCompanyName();
                         if (orgName == null) orgName = "Unknown Organization";
                         saveServiceToFirestore(orgId, orgName, title, description, requirements, volunteersNeeded, contactNumber);
                     } else {
@@ -211,6 +221,8 @@ public class OrgPostServiceFragment extends Fragment {
 
     /**
      * Constructs the data map and writes a new document to the "services" collection in Firestore.
+     * The organization's Active service counter and activity feed are updated in the same batch.
+     * The title and description are also indexed into "searchKeywords" for student search.
      * @param orgId The UID of the organization posting the service.
      * @param orgName The name of the organization.
      * @param title Title of the volunteer service.
@@ -232,11 +244,17 @@ public class OrgPostServiceFragment extends Fragment {
         serviceData.put("createdAt", FieldValue.serverTimestamp());
         serviceData.put("status", "Active");
         serviceData.put("searchTitle", title.toLowerCase());
+        serviceData.put(SearchKeywords.FIELD, SearchKeywords.build(title, description));
         serviceData.put("contactNumber", "+60" + contactNumber);
 
-        db.collection("services")
-                .add(serviceData)
-                .addOnSuccessListener(documentReference -> {
+        WriteBatch batch = db.batch();
+        DocumentReference serviceRef = db.collection("services").document();
+        batch.set(serviceRef, serviceData);
+        StatsCounters.applyActiveServiceChange(batch, db, orgId, 1);
+        ActivityFeed.record(batch, db, orgId, ActivityFeed.TYPE_SERVICE, ActivityFeed.serviceMessage(title), serviceRef.getId());
+
+        batch.commit()
+                .addOnSuccessListener(aVoid -> {
                     Toast.makeText(getContext(), "Service posted successfully!", Toast.LENGTH_SHORT).show();
                     Navigation.findNavController(requireView()).popBackStack();
                 })
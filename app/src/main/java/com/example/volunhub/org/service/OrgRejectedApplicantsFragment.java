@@ -12,11 +12,10 @@ import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserProfileCache;
 import com.example.volunhub.databinding.FragmentOrgRejectedApplicantsBinding;
 import com.example.volunhub.models.Applicant;
 import com.example.volunhub.org.adapters.ApplicantAdapter;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
@@ -31,6 +30,7 @@ public class OrgRejectedApplicantsFragment extends Fragment {
     private FragmentOrgRejectedApplicantsBinding binding;
     private FirebaseFirestore db;
     private ApplicantAdapter adapter;
+    private ApplicantProfileResolver applicantResolver;
     private final List<Applicant> applicantList = new ArrayList<>();
     private String serviceId;
 
@@ -83,6 +83,7 @@ public class OrgRejectedApplicantsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         db = FirebaseFirestore.getInstance();
+        applicantResolver = new ApplicantProfileResolver(UserProfileCache.getInstance());
 
         setupRecyclerView();
         loadRejectedApplicants();
@@ -104,7 +105,7 @@ public class OrgRejectedApplicantsFragment extends Fragment {
         };
 
         // Pass "Rejected" as the tabMode to hide buttons
-        adapter = new ApplicantAdapter(getContext(), applicantList, "Rejected", listener);
+        adapter = new ApplicantAdapter(getContext(), "Rejected", listener);
         binding.recyclerRejectedApplicants.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.recyclerRejectedApplicants.setAdapter(adapter);
     }
@@ -132,34 +133,14 @@ public class OrgRejectedApplicantsFragment extends Fragment {
 
                     binding.textEmptyRejected.setVisibility(View.GONE);
 
-                    List<Task<com.google.firebase.firestore.DocumentSnapshot>> userTasks = new ArrayList<>();
-                    for (com.google.firebase.firestore.DocumentSnapshot appDoc : applicationSnapshots.getDocuments()) {
-                        String studentId = appDoc.getString("studentId");
-                        if (studentId != null) {
-                            userTasks.add(db.collection("users").document(studentId).get());
-                        }
-                    }
-
-                    Tasks.whenAllSuccess(userTasks).addOnSuccessListener(userSnapshots -> {
-                        applicantList.clear();
-                        for (int i = 0; i < userSnapshots.size(); i++) {
-                            com.google.firebase.firestore.DocumentSnapshot userDoc =
-                                    (com.google.firebase.firestore.DocumentSnapshot) userSnapshots.get(i);
-                            com.google.firebase.firestore.DocumentSnapshot appDoc =
-                                    applicationSnapshots.getDocuments().get(i);
-
-                            if (userDoc.exists()) {
-                                Applicant applicant = new Applicant();
-                                applicant.setApplicationId(appDoc.getId());
-                                applicant.setStudentId(userDoc.getId());
-                                applicant.setStudentName(userDoc.getString("studentName"));
-                                applicant.setStudentIntroduction(userDoc.getString("studentIntroduction"));
-                                applicant.setProfileImageUrl(userDoc.getString("profileImageUrl"));
-                                applicantList.add(applicant);
-                            }
-                        }
-                        adapter.notifyDataSetChanged();
-                    });
+                    applicantResolver.resolve(applicationSnapshots.getDocuments())
+                            .addOnSuccessListener(applicants -> {
+                                if (binding == null) return;
+                                applicantList.clear();
+                                applicantList.addAll(applicants);
+                                adapter.submitList(new ArrayList<>(applicantList));
+                            })
+                            .addOnFailureListener(e -> Log.e(TAG, "Error loading rejected applicant profiles", e));
                 })
                 .addOnFailureListener(e ->
                         Log.e(TAG, "Error loading rejected applicants", e)
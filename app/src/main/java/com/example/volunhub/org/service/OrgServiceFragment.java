@@ -78,7 +78,7 @@ public class OrgServiceFragment extends Fragment {
      * Configures the RecyclerView and handles navigation to manage services when an item is clicked.
      */
     private void setupRecyclerView() {
-        adapter = new OrgServiceAdapter(serviceList);
+        adapter = new OrgServiceAdapter();
         binding.recyclerOrgService.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.recyclerOrgService.setAdapter(adapter);
 
@@ -125,7 +125,7 @@ public class OrgServiceFragment extends Fragment {
                         }
                     }
 
-                    adapter.notifyDataSetChanged();
+                    adapter.submitList(new ArrayList<>(serviceList));
                     updateEmptyStateUI();
                 })
                 .addOnFailureListener(e -> Log.e(TAG, "Error loading services", e));
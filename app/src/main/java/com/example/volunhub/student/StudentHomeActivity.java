@@ -15,7 +15,9 @@ import androidx.navigation.ui.NavigationUI;
 import com.example.volunhub.BaseRouterActivity;
 import com.example.volunhub.MainActivity;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.ActivityStudentHomeBinding;
+import com.example.volunhub.student.home.LocalServiceIndexSync;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.firebase.auth.FirebaseAuth;
 
@@ -103,6 +105,8 @@ public class StudentHomeActivity extends AppCompatActivity {
      * Signs the user out and returns to the main landing page.
      */
     public void returnToMain() {
+        UserSession.getInstance().clear();
+        LocalServiceIndexSync.stopSession();
         if (mAuth != null) {
             mAuth.signOut();
         }
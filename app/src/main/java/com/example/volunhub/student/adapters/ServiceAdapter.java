@@ -3,21 +3,41 @@ package com.example.volunhub.student.adapters;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
+import com.example.volunhub.data.StableIds;
 import com.example.volunhub.databinding.ItemServicePostingBinding;
 import com.example.volunhub.models.Service;
 
 import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.TimeZone;
 
 /**
  * RecyclerView Adapter for displaying a list of Service opportunities to students.
+ * Lists are submitted with submitList(); the diff runs on a background thread and only the
+ * rows that actually changed are rebound.
  */
-public class ServiceAdapter extends RecyclerView.Adapter<ServiceAdapter.ServiceViewHolder> {
+public class ServiceAdapter extends ListAdapter<Service, ServiceAdapter.ServiceViewHolder> {
 
-    private final List<Service> serviceList;
+    private static final DiffUtil.ItemCallback<Service> DIFF_CALLBACK = new DiffUtil.ItemCallback<Service>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Service oldItem, @NonNull Service newItem) {
+            return Objects.equals(oldItem.getDocumentId(), newItem.getDocumentId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Service oldItem, @NonNull Service newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getOrgName(), newItem.getOrgName())
+                    && Objects.equals(oldItem.getServiceDate(), newItem.getServiceDate());
+        }
+    };
+
+    private final StableIds<Service> stableIds = new StableIds<>(Service::getDocumentId);
     private OnItemClickListener listener;
 
     /**
@@ -41,10 +61,10 @@ public class ServiceAdapter extends RecyclerView.Adapter<ServiceAdapter.ServiceV
 
     /**
      * Constructor for ServiceAdapter.
-     * @param serviceList The list of services to display.
      */
-    public ServiceAdapter(List<Service> serviceList) {
-        this.serviceList = serviceList;
+    public ServiceAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
     }
 
     /**
@@ -68,7 +88,7 @@ public class ServiceAdapter extends RecyclerView.Adapter<ServiceAdapter.ServiceV
      */
     @Override
     public void onBindViewHolder(@NonNull ServiceViewHolder holder, int position) {
-        Service currentService = serviceList.get(position);
+        Service currentService = getItem(position);
         holder.bind(currentService);
         holder.itemView.setOnClickListener(v -> {
             if (listener != null) {
@@ -78,12 +98,23 @@ public class ServiceAdapter extends RecyclerView.Adapter<ServiceAdapter.ServiceV
     }
 
     /**
-     * Returns the total number of items in the list.
-     * @return The item count.
+     * Forgets the stable IDs of items that are no longer in the list.
+     * @param previousList The list before the update.
+     * @param currentList The list now shown.
+     */
+    @Override
+    public void onCurrentListChanged(@NonNull List<Service> previousList, @NonNull List<Service> currentList) {
+        stableIds.retainOnly(currentList);
+    }
+
+    /**
+     * Returns a stable ID for the service at the given position, keyed on its document ID.
+     * @param position The index of the item in the list.
+     * @return The stable item ID.
      */
     @Override
-    public int getItemCount() {
-        return serviceList.size();
+    public long getItemId(int position) {
+        return stableIds.get(getItem(position));
     }
 
     /**
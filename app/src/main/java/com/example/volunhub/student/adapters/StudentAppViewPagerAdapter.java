@@ -2,7 +2,6 @@ package com.example.volunhub.student.adapters;
 
 import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
-import androidx.fragment.app.FragmentActivity;
 import androidx.viewpager2.adapter.FragmentStateAdapter;
 
 import com.example.volunhub.student.applications.StudentHistoryFragment;
@@ -17,10 +16,11 @@ public class StudentAppViewPagerAdapter extends FragmentStateAdapter {
 
     /**
      * Constructor for the adapter.
-     * @param fragmentActivity The parent activity hosting the ViewPager.
+     * Tabs are tied to the host's view lifecycle, so they are torn down with its view.
+     * @param fragment The fragment hosting the ViewPager; the tabs become its child fragments.
      */
-    public StudentAppViewPagerAdapter(@NonNull FragmentActivity fragmentActivity) {
-        super(fragmentActivity);
+    public StudentAppViewPagerAdapter(@NonNull Fragment fragment) {
+        super(fragment.getChildFragmentManager(), fragment.getViewLifecycleOwner().getLifecycle());
     }
 
     /**
@@ -6,21 +6,42 @@ import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.volunhub.R;
+import com.example.volunhub.data.StableIds;
 import com.example.volunhub.databinding.ItemStudentApplicationBinding;
 import com.example.volunhub.models.Application;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView Adapter for displaying a student's applications (My Applications).
  * Handles status color coding and removed services.
+ * Lists are submitted with submitList() and diffed on a background thread, so a single status
+ * change rebinds a single row.
  */
-public class StudentApplicationAdapter extends RecyclerView.Adapter<StudentApplicationAdapter.ApplicationViewHolder> {
+public class StudentApplicationAdapter extends ListAdapter<Application, StudentApplicationAdapter.ApplicationViewHolder> {
 
-    private final List<Application> applicationList;
+    private static final DiffUtil.ItemCallback<Application> DIFF_CALLBACK = new DiffUtil.ItemCallback<Application>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Application oldItem, @NonNull Application newItem) {
+            return Objects.equals(oldItem.getDocumentId(), newItem.getDocumentId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Application oldItem, @NonNull Application newItem) {
+            return Objects.equals(oldItem.getServiceTitle(), newItem.getServiceTitle())
+                    && Objects.equals(oldItem.getOrgName(), newItem.getOrgName())
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && oldItem.isServiceRemoved() == newItem.isServiceRemoved();
+        }
+    };
+
+    private final StableIds<Application> stableIds = new StableIds<>(Application::getDocumentId);
     private final Context context;
     private OnItemClickListener listener;
 
@@ -46,11 +67,11 @@ public class StudentApplicationAdapter extends RecyclerView.Adapter<StudentAppli
     /**
      * Constructor for the adapter.
      * @param context Context for resource access.
-     * @param applicationList List of applications.
      */
-    public StudentApplicationAdapter(Context context, List<Application> applicationList) {
+    public StudentApplicationAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.applicationList = applicationList;
+        setHasStableIds(true);
     }
 
     /**
@@ -74,7 +95,7 @@ public class StudentApplicationAdapter extends RecyclerView.Adapter<StudentAppli
      */
     @Override
     public void onBindViewHolder(@NonNull ApplicationViewHolder holder, int position) {
-        Application application = applicationList.get(position);
+        Application application = getItem(position);
         holder.bind(application, context);
 
         holder.itemView.setOnClickListener(v -> {
@@ -85,12 +106,23 @@ public class StudentApplicationAdapter extends RecyclerView.Adapter<StudentAppli
     }
 
     /**
-     * Returns total item count.
-     * @return List size.
+     * Forgets the stable IDs of items that are no longer in the list.
+     * @param previousList The list before the update.
+     * @param currentList The list now shown.
+     */
+    @Override
+    public void onCurrentListChanged(@NonNull List<Application> previousList, @NonNull List<Application> currentList) {
+        stableIds.retainOnly(currentList);
+    }
+
+    /**
+     * Returns a stable ID for the application at the given position, keyed on its document ID.
+     * @param position Position in the list.
+     * @return The stable item ID.
      */
     @Override
-    public int getItemCount() {
-        return applicationList.size();
+    public long getItemId(int position) {
+        return stableIds.get(getItem(position));
     }
 
     /**
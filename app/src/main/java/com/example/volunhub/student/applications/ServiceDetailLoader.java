@@ -0,0 +1,157 @@
+package com.example.volunhub.student.applications;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.data.Applications;
+import com.example.volunhub.data.SavedServices;
+import com.example.volunhub.data.UserProfileCache;
+import com.example.volunhub.models.Service;
+import com.example.volunhub.models.UserProfile;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads everything the service detail screen shows in parallel: the service, the student's
+ * application, the saved state and the organization's profile. All four lookups start from the
+ * service ID (and the org ID, if the caller knows it), and the results are delivered together
+ * as one DetailState so the screen renders in a single pass.
+ * <p>
+ * When the org ID is not known up front, the org lookup waits for the service instead.
+ * Per-stage timings are kept in the state and logged under "NFRTest".
+ */
+public class ServiceDetailLoader {
+
+    /**
+     * Receives the combined result. Called on the main thread.
+     */
+    public interface Callback {
+        /**
+         * @param state The results of all stages.
+         */
+        void onDetailLoaded(DetailState state);
+    }
+
+    /**
+     * The combined result of one load. A stage that failed leaves its fields at their "unknown" value.
+     */
+    public static class DetailState {
+        /** The service, or null if it is missing or could not be loaded. */
+        @Nullable public Service service;
+        /** True if the service document does not exist any more. */
+        public boolean serviceMissing = false;
+        /** The service load error, if any. */
+        @Nullable public Exception serviceError;
+        /** The student's application status, "NOT_APPLIED", or null if unknown. */
+        @Nullable public String applicationStatus;
+        /** The student's application for this service, if any. */
+        @Nullable public DocumentSnapshot applicationDoc;
+        /** Whether the service is saved, or null if unknown. */
+        @Nullable public Boolean saved;
+        /** The organization's profile, or null if unknown. */
+        @Nullable public UserProfile org;
+        /** Milliseconds from the start of the load until each stage finished. */
+        public final Map<String, Long> stageTimings = new LinkedHashMap<>();
+    }
+
+    private static final String TAG = "ServiceDetailLoader";
+
+    private final FirebaseFirestore db;
+    private final UserProfileCache profileCache;
+
+    public ServiceDetailLoader(FirebaseFirestore db, UserProfileCache profileCache) {
+        this.db = db;
+        this.profileCache = profileCache;
+    }
+
+    /**
+     * Starts all lookups at once.
+     * @param serviceId The service to load.
+     * @param orgId The service's organization, or null to take it from the service.
+     * @param studentId The signed-in student, or null to skip the application and saved lookups.
+     * @param callback Receives the combined state once every stage has finished.
+     */
+    public void load(String serviceId, @Nullable String orgId, @Nullable String studentId, Callback callback) {
+        long start = System.nanoTime();
+        DetailState state = new DetailState();
+
+        Task<DocumentSnapshot> serviceTask = timed("service", start, state,
+                db.collection("services").document(serviceId).get());
+
+        Task<DocumentSnapshot> applicationTask = (studentId == null) ? Tasks.<DocumentSnapshot>forResult(null) : timed("application", start, state,
+                Applications.applicationRef(db, studentId, serviceId).get());
+
+        Task<DocumentSnapshot> savedTask = (studentId == null) ? Tasks.<DocumentSnapshot>forResult(null) : timed("saved", start, state,
+                SavedServices.savedRef(db, studentId, serviceId).get());
+
+        Task<UserProfile> orgTask;
+        if (orgId != null) {
+            orgTask = profileCache.get(orgId);
+        } else {
+            orgTask = serviceTask.onSuccessTask(doc -> {
+                String serviceOrgId = (doc != null) ? doc.getString("orgId") : null;
+                return (serviceOrgId != null) ? profileCache.get(serviceOrgId) : Tasks.<UserProfile>forResult(null);
+            });
+        }
+        orgTask = timed("org", start, state, orgTask);
+
+        Task<UserProfile> finalOrgTask = orgTask;
+        Tasks.whenAllComplete(serviceTask, applicationTask, savedTask, orgTask).addOnCompleteListener(all -> {
+            if (serviceTask.isSuccessful()) {
+                DocumentSnapshot doc = serviceTask.getResult();
+                if (doc.exists()) {
+                    state.service = doc.toObject(Service.class);
+                    if (state.service != null) state.service.setDocumentId(doc.getId());
+                } else {
+                    state.serviceMissing = true;
+                }
+            } else {
+                state.serviceError = serviceTask.getException();
+            }
+
+            if (studentId != null && applicationTask.isSuccessful()) {
+                DocumentSnapshot application = applicationTask.getResult();
+                if (application.exists()) {
+                    state.applicationDoc = application;
+                    state.applicationStatus = application.getString("status");
+                } else {
+                    state.applicationStatus = "NOT_APPLIED";
+                }
+            }
+
+            if (studentId != null && savedTask.isSuccessful()) {
+                state.saved = savedTask.getResult().exists();
+            }
+
+            if (finalOrgTask.isSuccessful()) {
+                state.org = finalOrgTask.getResult();
+            }
+
+            state.stageTimings.put("total", elapsedMs(start));
+            Log.d("NFRTest", "Service detail stages (ms): " + state.stageTimings);
+            callback.onDetailLoaded(state);
+        });
+    }
+
+    /**
+     * Records how long after the start of the load a stage finished.
+     * @return A task that completes like the given one, after the timing is recorded.
+     */
+    private static <T> Task<T> timed(String stage, long start, DetailState state, Task<T> task) {
+        return task.continueWithTask(t -> {
+            state.stageTimings.put(stage, elapsedMs(start));
+            if (!t.isSuccessful()) Log.w(TAG, "Stage failed: " + stage, t.getException());
+            return t;
+        });
+    }
+
+    private static long elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -8,15 +8,18 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.volunhub.R;
 import com.example.volunhub.databinding.FragmentStudentApplicationsBinding;
 import com.example.volunhub.student.adapters.StudentAppViewPagerAdapter;
 import com.google.android.material.tabs.TabLayoutMediator;
+import com.google.firebase.auth.FirebaseAuth;
 
 /**
  * Fragment that hosts a ViewPager2 to manage different student application views.
  * It provides tabs for My Applications, Saved services, and Application History.
+ * My Applications and History share one StudentApplicationsViewModel scoped to this fragment.
  */
 public class StudentApplicationsFragment extends Fragment {
 
@@ -46,13 +49,19 @@ public class StudentApplicationsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        // 1. Initialize the ViewPager adapter
-        StudentAppViewPagerAdapter viewPagerAdapter = new StudentAppViewPagerAdapter(requireActivity());
+        // 1. One applications listener for all tabs, held by this fragment's ViewModel
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            new ViewModelProvider(this).get(StudentApplicationsViewModel.class)
+                    .start(FirebaseAuth.getInstance().getCurrentUser().getUid());
+        }
 
-        // 2. Attach the adapter to the ViewPager
+        // 2. Initialize the ViewPager adapter; the tabs are child fragments sharing the ViewModel
+        StudentAppViewPagerAdapter viewPagerAdapter = new StudentAppViewPagerAdapter(this);
+
+        // 3. Attach the adapter to the ViewPager
         binding.viewPager.setAdapter(viewPagerAdapter);
 
-        // 3. Link TabLayout and ViewPager using TabLayoutMediator
+        // 4. Link TabLayout and ViewPager using TabLayoutMediator
         new TabLayoutMediator(binding.tabLayout, binding.viewPager,
                 (tab, position) -> {
                     // Configures tab labels based on position using string resources
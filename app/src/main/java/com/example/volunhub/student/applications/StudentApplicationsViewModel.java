@@ -0,0 +1,367 @@
+package com.example.volunhub.student.applications;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.example.volunhub.data.IncrementalSnapshotList;
+import com.example.volunhub.models.Application;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Holds the signed-in student's applications for the tabs of StudentApplicationsFragment.
+ * <p>
+ * Scoped to the host fragment, so the tabs share its listeners: switching tabs, or a tab being
+ * recreated by the ViewPager, costs no reads. Each list attaches its listener while a tab
+ * observes it (the host is started) and removes it when none does.
+ * <ul>
+ *     <li>Upcoming: only applications with serviceDate in the future are listened to, so the
+ *     payload scales with upcoming applications, not the student's whole history.</li>
+ *     <li>History: accepted applications whose service date has passed, paged newest first,
+ *     with services that finish while the screen is open moved in as they pass.</li>
+ * </ul>
+ */
+public class StudentApplicationsViewModel extends ViewModel {
+
+    private static final String TAG = "StudentAppsViewModel";
+
+    /** Soonest first; applications without a date last. */
+    private static final Comparator<Application> BY_SERVICE_DATE =
+            Comparator.comparing(Application::getServiceDate, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<Application> MOST_RECENT_FIRST =
+            Comparator.comparing(Application::getServiceDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final HistoryLiveData history = new HistoryLiveData();
+    private final UpcomingLiveData upcoming = new UpcomingLiveData(history::refreshBoundary);
+
+    /**
+     * Sets the student whose applications are listened to. Calls after the first are ignored.
+     * @param studentId The signed-in student's UID.
+     */
+    public void start(String studentId) {
+        upcoming.setStudentId(studentId);
+        history.setStudentId(studentId);
+    }
+
+    /**
+     * @return Applications whose service is still upcoming, soonest first.
+     */
+    public LiveData<List<Application>> getUpcoming() {
+        return upcoming;
+    }
+
+    /**
+     * @return Accepted applications whose service date has passed, most recent first, as far as loaded.
+     */
+    public LiveData<List<Application>> getHistory() {
+        return history;
+    }
+
+    /**
+     * Loads the next page of older history. Does nothing if it is all loaded or a page is already loading.
+     */
+    public void loadMoreHistory() {
+        history.loadMore();
+    }
+
+    private static IncrementalSnapshotList<Application> newApplicationList(Comparator<Application> order) {
+        return new IncrementalSnapshotList<>(doc -> {
+            Application application = doc.toObject(Application.class);
+            if (application != null) application.setDocumentId(doc.getId());
+            return application;
+        }, order);
+    }
+
+    /**
+     * A list backed by one snapshot listener on the student's applications, attached only while observed.
+     */
+    private abstract static class ApplicationsLiveData extends LiveData<List<Application>> {
+
+        protected final FirebaseFirestore db = FirebaseFirestore.getInstance();
+        protected final IncrementalSnapshotList<Application> list;
+
+        @Nullable
+        protected String studentId;
+        @Nullable
+        private ListenerRegistration registration;
+
+        ApplicationsLiveData(Comparator<Application> order) {
+            list = newApplicationList(order);
+        }
+
+        void setStudentId(String studentId) {
+            if (this.studentId != null) return;
+            this.studentId = studentId;
+            if (hasActiveObservers()) attach();
+        }
+
+        /**
+         * @return The query to listen to for this student.
+         */
+        protected abstract Query query(String studentId);
+
+        /**
+         * Publishes the current items; called after every snapshot.
+         */
+        protected void publish() {
+            setValue(list.snapshot());
+        }
+
+        @Override
+        protected void onActive() {
+            attach();
+        }
+
+        @Override
+        protected void onInactive() {
+            detach();
+        }
+
+        protected void attach() {
+            if (studentId == null || registration != null) return;
+
+            // Removals missed while detached are dropped by the first snapshot
+            list.resync();
+            registration = query(studentId).addSnapshotListener((querySnapshot, error) -> {
+                if (error != null) {
+                    Log.e(TAG, "Error loading applications", error);
+                    return;
+                }
+                if (querySnapshot == null) return;
+
+                list.apply(querySnapshot);
+                onSnapshot(querySnapshot);
+                publish();
+            });
+        }
+
+        /**
+         * Called after each listener snapshot has been applied, before publishing.
+         */
+        protected void onSnapshot(QuerySnapshot snapshot) {}
+
+        protected void detach() {
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+        }
+    }
+
+    /**
+     * Upcoming applications. The listener's query is bounded by serviceDate >= the time it was
+     * attached; every ROLL_INTERVAL_MS it is re-attached with a new lower bound so services that
+     * have passed leave the listener. In between, each passing service is dropped from the
+     * published list when its date is reached.
+     */
+    private static class UpcomingLiveData extends ApplicationsLiveData {
+
+        private static final long ROLL_INTERVAL_MS = 60 * 60 * 1000;
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        private final Runnable roll = () -> {
+            detach();
+            attach();
+        };
+        private final Runnable expire = this::onServicePassed;
+        private final Runnable onPassed;
+
+        /**
+         * @param onPassed Run whenever an upcoming service's date is reached.
+         */
+        UpcomingLiveData(Runnable onPassed) {
+            super(BY_SERVICE_DATE);
+            this.onPassed = onPassed;
+        }
+
+        private void onServicePassed() {
+            publish();
+            onPassed.run();
+        }
+
+        @Override
+        protected Query query(String studentId) {
+            return db.collection("applications")
+                    .whereEqualTo("studentId", studentId)
+                    .whereGreaterThanOrEqualTo("serviceDate", Timestamp.now())
+                    .orderBy("serviceDate", Query.Direction.ASCENDING);
+        }
+
+        @Override
+        protected void attach() {
+            super.attach();
+            handler.removeCallbacks(roll);
+            if (studentId != null) handler.postDelayed(roll, ROLL_INTERVAL_MS);
+        }
+
+        @Override
+        protected void detach() {
+            super.detach();
+            handler.removeCallbacks(roll);
+            handler.removeCallbacks(expire);
+        }
+
+        /**
+         * Publishes the applications that are still upcoming, and schedules the next publish for
+         * when the soonest of them passes. The list is already in date order, so no sort is needed.
+         */
+        @Override
+        protected void publish() {
+            Date now = new Date();
+            List<Application> upcoming = new ArrayList<>();
+            for (Application application : list.items()) {
+                if (application.getServiceDate() != null && application.getServiceDate().after(now)) {
+                    upcoming.add(application);
+                }
+            }
+            setValue(upcoming);
+
+            handler.removeCallbacks(expire);
+            if (!upcoming.isEmpty()) {
+                long untilNext = upcoming.get(0).getServiceDate().getTime() - now.getTime();
+                handler.postDelayed(expire, untilNext + 1000);
+            }
+        }
+    }
+
+    /**
+     * Accepted applications whose service date has passed, newest first, loaded in pages.
+     * <ul>
+     *     <li>The newest page is a snapshot listener bounded by serviceDate &lt; the time it was
+     *     attached; older pages are fetched on demand with a startAfter cursor.</li>
+     *     <li>Services that finish while the screen is open are brought in by a boundary refresh:
+     *     a one-off query for serviceDate in [boundary, now), after which the boundary moves to
+     *     now. It runs every REFRESH_INTERVAL_MS and whenever an upcoming service passes, without
+     *     re-attaching the listener.</li>
+     * </ul>
+     * The query is already ordered and IncrementalSnapshotList inserts in order, so nothing is re-sorted.
+     * Items that slide out of the newest page stay in the list, since older pages start after them.
+     */
+    private static class HistoryLiveData extends ApplicationsLiveData {
+
+        private static final int PAGE_SIZE = 20;
+        private static final long REFRESH_INTERVAL_MS = 5 * 60 * 1000;
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        private final Runnable periodicRefresh = () -> {
+            refreshBoundary();
+            scheduleRefresh();
+        };
+
+        private Timestamp boundary;
+        @Nullable
+        private DocumentSnapshot oldestDoc;
+        private boolean hasMore = false;
+        private boolean loadingMore = false;
+
+        HistoryLiveData() {
+            super(MOST_RECENT_FIRST);
+            list.setKeepRemoved(true);
+        }
+
+        /**
+         * @return The student's accepted applications, newest first.
+         */
+        private Query accepted(String studentId) {
+            return db.collection("applications")
+                    .whereEqualTo("studentId", studentId)
+                    .whereEqualTo("status", "Accepted")
+                    .orderBy("serviceDate", Query.Direction.DESCENDING);
+        }
+
+        @Override
+        protected Query query(String studentId) {
+            if (boundary == null) boundary = Timestamp.now();
+            return accepted(studentId).whereLessThan("serviceDate", boundary).limit(PAGE_SIZE);
+        }
+
+        @Override
+        protected void attach() {
+            // Re-attaching after a pause: catch up on services that finished meanwhile
+            boolean reattaching = boundary != null;
+            super.attach();
+            if (reattaching) refreshBoundary();
+            scheduleRefresh();
+        }
+
+        @Override
+        protected void detach() {
+            super.detach();
+            handler.removeCallbacks(periodicRefresh);
+        }
+
+        @Override
+        protected void onSnapshot(QuerySnapshot snapshot) {
+            if (oldestDoc == null && !snapshot.getMetadata().isFromCache()) {
+                if (!snapshot.isEmpty()) oldestDoc = snapshot.getDocuments().get(snapshot.size() - 1);
+                hasMore = snapshot.size() >= PAGE_SIZE;
+            }
+        }
+
+        /**
+         * Fetches the next page of older history, if there is one and none is already loading.
+         */
+        void loadMore() {
+            if (studentId == null || oldestDoc == null || !hasMore || loadingMore) return;
+
+            loadingMore = true;
+            accepted(studentId).whereLessThan("serviceDate", boundary)
+                    .startAfter(oldestDoc)
+                    .limit(PAGE_SIZE)
+                    .get()
+                    .addOnSuccessListener(page -> {
+                        loadingMore = false;
+                        if (!page.isEmpty()) oldestDoc = page.getDocuments().get(page.size() - 1);
+                        hasMore = page.size() >= PAGE_SIZE;
+                        list.apply(page);
+                        publish();
+                    })
+                    .addOnFailureListener(e -> {
+                        loadingMore = false;
+                        Log.e(TAG, "Error loading older history", e);
+                    });
+        }
+
+        /**
+         * Adds the accepted applications whose service finished since the boundary, then moves the boundary to now.
+         */
+        void refreshBoundary() {
+            if (studentId == null || boundary == null) return;
+
+            Timestamp from = boundary;
+            Timestamp to = Timestamp.now();
+            accepted(studentId)
+                    .whereGreaterThanOrEqualTo("serviceDate", from)
+                    .whereLessThan("serviceDate", to)
+                    .get()
+                    .addOnSuccessListener(finished -> {
+                        // A concurrent refresh may already have moved the boundary further
+                        if (boundary.compareTo(to) < 0) boundary = to;
+                        if (finished.isEmpty()) return;
+                        list.apply(finished);
+                        publish();
+                    })
+                    .addOnFailureListener(e -> Log.e(TAG, "Error refreshing history boundary", e));
+        }
+
+        private void scheduleRefresh() {
+            handler.removeCallbacks(periodicRefresh);
+            if (studentId != null) handler.postDelayed(periodicRefresh, REFRESH_INTERVAL_MS);
+        }
+    }
+}
@@ -9,22 +9,13 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.volunhub.databinding.FragmentStudentHistoryBinding;
-import com.example.volunhub.models.Application;
 import com.example.volunhub.student.adapters.StudentApplicationAdapter;
-import com.google.firebase.Timestamp;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.Query;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
-import java.util.List;
 
 /**
  * Fragment that displays a history of completed volunteer services.
@@ -33,12 +24,12 @@ import java.util.List;
 public class StudentHistoryFragment extends Fragment {
 
     private static final String TAG = "StudentHistoryFragment";
+    // Start loading the next page when this close to the end of the list
+    private static final int PREFETCH_DISTANCE = 5;
+
     private FragmentStudentHistoryBinding binding;
     private StudentApplicationAdapter adapter;
-    private final List<Application> historyList = new ArrayList<>();
-    private FirebaseFirestore db;
-    private FirebaseAuth mAuth;
-    private ListenerRegistration historyListener;
+    private StudentApplicationsViewModel viewModel;
 
     public StudentHistoryFragment() {}
 
@@ -56,7 +47,7 @@ public class StudentHistoryFragment extends Fragment {
     }
 
     /**
-     * Initializes Firestore, Auth, and triggers UI setup after the view is created.
+     * Triggers UI setup after the view is created.
      * @param view The created View.
      * @param savedInstanceState Saved state bundle.
      */
@@ -64,19 +55,19 @@ public class StudentHistoryFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        db = FirebaseFirestore.getInstance();
-        mAuth = FirebaseAuth.getInstance();
-
+        viewModel = new ViewModelProvider(requireParentFragment()).get(StudentApplicationsViewModel.class);
         setupRecyclerView();
         loadHistory();
     }
 
     /**
-     * Configures the RecyclerView and handles navigation to service details when an item is clicked.
+     * Configures the RecyclerView, handles navigation to service details when an item is clicked,
+     * and loads the next page of older history when the user scrolls near the end.
      */
     private void setupRecyclerView() {
-        adapter = new StudentApplicationAdapter(getContext(), historyList);
-        binding.recyclerStudentHistory.setLayoutManager(new LinearLayoutManager(getContext()));
+        adapter = new StudentApplicationAdapter(getContext());
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        binding.recyclerStudentHistory.setLayoutManager(layoutManager);
         binding.recyclerStudentHistory.setAdapter(adapter);
 
         adapter.setOnItemClickListener(application -> {
@@ -85,73 +76,50 @@ public class StudentHistoryFragment extends Fragment {
                     StudentApplicationsFragmentDirections.actionAppsHostToServiceDetail(
                             application.getServiceId()
                     );
+            action.setOrgId(application.getOrgId());
             Navigation.findNavController(requireView()).navigate(action);
         });
+
+        binding.recyclerStudentHistory.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                super.onScrolled(recyclerView, dx, dy);
+                if (dy <= 0) return;
+
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= layoutManager.getItemCount() - PREFETCH_DISTANCE) {
+                    viewModel.loadMoreHistory();
+                }
+            }
+        });
     }
 
     /**
-     * Attaches a real-time listener to Firestore to fetch accepted applications from the past.
-     * Sorts the results by date in descending order (most recent first).
+     * Observes the accepted applications from the past, most recent first, from the shared
+     * StudentApplicationsViewModel. The list arrives in order and grows as older pages load
+     * and as services finish, so it is submitted as is.
      */
     private void loadHistory() {
-        if (mAuth.getCurrentUser() == null) return;
-        String myId = mAuth.getCurrentUser().getUid();
-
-        // Cleanup existing listener to prevent leaks or duplicates
-        if (historyListener != null) {
-            historyListener.remove();
-        }
-
-        historyListener = db.collection("applications")
-                .whereEqualTo("studentId", myId)
-                .whereEqualTo("status", "Accepted")
-                .whereLessThan("serviceDate", Timestamp.now()) // Only services in the past
-                .orderBy("serviceDate", Query.Direction.DESCENDING)
-                .addSnapshotListener((querySnapshot, e) -> {
-                    if (e != null) {
-                        Log.e(TAG, "Error listening to history", e);
-                        if (binding != null) binding.textEmptyHistory.setVisibility(View.VISIBLE);
-                        return;
-                    }
-
-                    if (binding == null) return;
-
-                    if (querySnapshot == null || querySnapshot.isEmpty()) {
-                        Log.d(TAG, "No history found.");
-                        historyList.clear();
-                        adapter.notifyDataSetChanged();
-                        binding.textEmptyHistory.setVisibility(View.VISIBLE);
-                    } else {
-                        binding.textEmptyHistory.setVisibility(View.GONE);
-                        historyList.clear();
-                        historyList.addAll(querySnapshot.toObjects(Application.class));
-
-                        // Manual sort to ensure consistency with Date objects
-                        Collections.sort(historyList, (a1, a2) -> {
-                            Date d1 = a1.getServiceDate();
-                            Date d2 = a2.getServiceDate();
-
-                            if (d1 == null && d2 == null) return 0;
-                            if (d1 == null) return 1;
-                            if (d2 == null) return -1;
-
-                            return d2.compareTo(d1); // Descending order
-                        });
-
-                        adapter.notifyDataSetChanged();
-                    }
-                });
+        viewModel.getHistory().observe(getViewLifecycleOwner(), history -> {
+            if (binding == null) return;
+
+            adapter.submitList(history);
+
+            if (history.isEmpty()) {
+                Log.d(TAG, "No history found.");
+                binding.textEmptyHistory.setVisibility(View.VISIBLE);
+            } else {
+                binding.textEmptyHistory.setVisibility(View.GONE);
+            }
+        });
     }
 
     /**
-     * Removes the Firestore listener and cleans up the UI binding reference.
+     * Cleans up the UI binding reference.
      */
     @Override
     public void onDestroyView() {
         super.onDestroyView();
-        if (historyListener != null) {
-            historyListener.remove();
-        }
         binding = null;
     }
 }
\ No newline at end of file
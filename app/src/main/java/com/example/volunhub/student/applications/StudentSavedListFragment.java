@@ -10,23 +10,35 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.volunhub.data.DocumentBatchFetcher;
+import com.example.volunhub.data.ListenerRegistry;
+import com.example.volunhub.data.SavedServices;
+import com.example.volunhub.data.ServiceCache;
 import com.example.volunhub.databinding.FragmentStudentSavedListBinding;
 import com.example.volunhub.models.Service;
 import com.example.volunhub.student.adapters.ServiceAdapter;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Fragment responsible for displaying the list of volunteer services saved by the student.
- * It listens for changes in the user's saved ID list and fetches full service details accordingly.
+ * It listens to the newest page of the student's "saved" subcollection, loads older pages with a
+ * startAfter cursor as the user scrolls, and fetches full service details only for IDs that were
+ * added since the last change.
  */
 public class StudentSavedListFragment extends Fragment {
 
@@ -36,7 +48,20 @@ public class StudentSavedListFragment extends Fragment {
     private final List<Service> savedList = new ArrayList<>();
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
-    private ListenerRegistration savedListener;
+    private ListenerRegistry listeners;
+
+    // --- Pagination Variables ---
+    private static final int PAGE_SIZE = DocumentBatchFetcher.WHERE_IN_LIMIT;
+    private static final int PREFETCH_DISTANCE = 5;
+    private List<String> savedIds = new ArrayList<>();
+    private List<String> newestIds = new ArrayList<>();
+    private final List<String> olderIds = new ArrayList<>();
+    private final Map<String, Service> loadedServices = new HashMap<>();
+    private final Set<String> missingIds = new HashSet<>();
+    private final Set<String> pendingIds = new HashSet<>();
+    private DocumentSnapshot oldestSaved;
+    private boolean hasMoreSaved = false;
+    private boolean isLoadingPage = false;
 
     public StudentSavedListFragment() {}
 
@@ -63,6 +88,7 @@ public class StudentSavedListFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         db = FirebaseFirestore.getInstance();
+        listeners = ListenerRegistry.bindToTab(getViewLifecycleOwner());
         mAuth = FirebaseAuth.getInstance();
 
         setupRecyclerView();
@@ -71,124 +97,195 @@ public class StudentSavedListFragment extends Fragment {
 
     /**
      * Configures the RecyclerView and handles navigation to service details when an item is clicked.
+     * Scrolling near the end of the loaded services prefetches the next page.
      */
     private void setupRecyclerView() {
-        adapter = new ServiceAdapter(savedList);
-        binding.recyclerStudentSaved.setLayoutManager(new LinearLayoutManager(getContext()));
+        adapter = new ServiceAdapter();
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        binding.recyclerStudentSaved.setLayoutManager(layoutManager);
         binding.recyclerStudentSaved.setAdapter(adapter);
 
         adapter.setOnItemClickListener(service -> {
+            ServiceCache.put(service);
             // Navigation via the Host Fragment's Directions
             StudentApplicationsFragmentDirections.ActionAppsHostToServiceDetail action =
                     StudentApplicationsFragmentDirections.actionAppsHostToServiceDetail(
                             service.getDocumentId()
                     );
+            action.setOrgId(service.getOrgId());
             Navigation.findNavController(requireView()).navigate(action);
         });
+
+        binding.recyclerStudentSaved.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                super.onScrolled(recyclerView, dx, dy);
+                if (dy <= 0 || !pendingIds.isEmpty() || !hasMoreSaved || isLoadingPage) return;
+
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= layoutManager.getItemCount() - PREFETCH_DISTANCE) {
+                    loadOlderSaved();
+                }
+            }
+        });
     }
 
     /**
-     * Attaches a real-time listener to the user's profile to track changes in the 'savedServices' ID list.
+     * Listens to the newest page of saved entries in "users/{uid}/saved". The listener stays
+     * attached while older pages are loaded, so loading more never re-reads what is shown.
+     * An entry that leaves the page because newer ones were saved is kept as an older entry;
+     * one that leaves because it was unsaved is dropped.
+     * Runs only while this tab is visible.
      */
     private void loadSavedServiceIds() {
         if (mAuth.getCurrentUser() == null) return;
         String myId = mAuth.getCurrentUser().getUid();
 
-        // Cleanup existing listener to prevent leaks or duplicates
-        if (savedListener != null) {
-            savedListener.remove();
-        }
-
-        savedListener = db.collection("users")
-                .document(myId)
-                .addSnapshotListener((documentSnapshot, e) -> {
+        listeners.add("saved", () -> SavedServices.savedCollection(db, myId)
+                .orderBy(SavedServices.FIELD_SAVED_AT, Query.Direction.DESCENDING)
+                .limit(PAGE_SIZE)
+                .addSnapshotListener((querySnapshot, e) -> {
                     if (e != null) {
                         Log.e(TAG, "Error listening to saved services", e);
                         return;
                     }
 
-                    if (binding == null) return;
+                    if (binding == null || querySnapshot == null) return;
 
-                    if (documentSnapshot == null || !documentSnapshot.exists()) {
-                        updateUIWithEmptyState();
-                        return;
+                    List<DocumentSnapshot> docs = querySnapshot.getDocuments();
+                    List<String> newestFirst = new ArrayList<>();
+                    for (DocumentSnapshot doc : docs) {
+                        newestFirst.add(doc.getId()); // The document ID is the service ID
                     }
 
-                    List<String> savedIds = new ArrayList<>();
-                    Object savedServicesField = documentSnapshot.get("savedServices");
-
-                    if (savedServicesField instanceof List) {
-                        try {
-                            //noinspection unchecked
-                            savedIds = (List<String>) savedServicesField;
-                        } catch (ClassCastException ex) {
-                            Log.e(TAG, "Error casting savedServices", ex);
-                        }
+                    // Pushed out of a full page by newer saves: still saved, now an older entry
+                    Timestamp pageEnd = docs.isEmpty() ? null : docs.get(docs.size() - 1).getTimestamp(SavedServices.FIELD_SAVED_AT);
+                    List<String> pushedOut = new ArrayList<>();
+                    for (DocumentChange change : querySnapshot.getDocumentChanges()) {
+                        if (change.getType() != DocumentChange.Type.REMOVED || docs.size() < PAGE_SIZE || pageEnd == null) continue;
+                        Timestamp savedAt = change.getDocument().getTimestamp(SavedServices.FIELD_SAVED_AT);
+                        if (savedAt != null && savedAt.compareTo(pageEnd) < 0) pushedOut.add(change.getDocument().getId());
                     }
+                    olderIds.addAll(0, pushedOut);
 
-                    if (savedIds != null && !savedIds.isEmpty()) {
-                        binding.textEmptySaved.setVisibility(View.GONE);
-                        fetchServicesFromIds(savedIds);
-                    } else {
-                        updateUIWithEmptyState();
+                    if (oldestSaved == null && !querySnapshot.getMetadata().isFromCache()) {
+                        if (!docs.isEmpty()) oldestSaved = docs.get(docs.size() - 1);
+                        hasMoreSaved = docs.size() >= PAGE_SIZE;
                     }
+
+                    newestIds = newestFirst;
+                    updateSavedIds();
+                }));
+    }
+
+    /**
+     * Fetches the next page of saved entries after the oldest one loaded so far.
+     */
+    private void loadOlderSaved() {
+        if (mAuth.getCurrentUser() == null || oldestSaved == null) return;
+        String myId = mAuth.getCurrentUser().getUid();
+
+        isLoadingPage = true;
+        SavedServices.savedCollection(db, myId)
+                .orderBy(SavedServices.FIELD_SAVED_AT, Query.Direction.DESCENDING)
+                .startAfter(oldestSaved)
+                .limit(PAGE_SIZE)
+                .get()
+                .addOnSuccessListener(page -> {
+                    isLoadingPage = false;
+                    hasMoreSaved = page.size() >= PAGE_SIZE;
+                    if (!page.isEmpty()) oldestSaved = page.getDocuments().get(page.size() - 1);
+                    for (DocumentSnapshot doc : page.getDocuments()) olderIds.add(doc.getId());
+                    if (binding == null) return;
+                    updateSavedIds();
+                })
+                .addOnFailureListener(ex -> {
+                    isLoadingPage = false;
+                    Log.e(TAG, "Error loading older saved services", ex);
                 });
     }
 
     /**
-     * Fetches detailed service data from Firestore using a list of document IDs.
-     * @param serviceIds List of service unique identifiers.
+     * Combines the live newest page with the older pages and loads whatever is new.
      */
-    private void fetchServicesFromIds(List<String> serviceIds) {
-        List<Task<DocumentSnapshot>> tasks = new ArrayList<>();
+    private void updateSavedIds() {
+        Set<String> combined = new LinkedHashSet<>(newestIds);
+        combined.addAll(olderIds);
+        List<String> ids = new ArrayList<>(combined);
+        if (ids.equals(savedIds) && !savedIds.isEmpty()) return;
+        savedIds = ids;
 
-        for (String id : serviceIds) {
-            tasks.add(db.collection("services").document(id).get());
-        }
+        // Forget services that were unsaved; added IDs are fetched by loadWindow
+        loadedServices.keySet().retainAll(savedIds);
+        missingIds.retainAll(savedIds);
+        loadWindow();
+    }
 
-        Tasks.whenAllSuccess(tasks).addOnSuccessListener(results -> {
-            if (binding == null) return;
-
-            savedList.clear();
-            for (Object snapshot : results) {
-                DocumentSnapshot doc = (DocumentSnapshot) snapshot;
-                if (doc.exists()) {
-                    Service service = doc.toObject(Service.class);
-                    if (service != null) {
-                        service.setDocumentId(doc.getId());
-                        // Add to top of list for "most recent saved" view
-                        savedList.add(0, service);
-                    }
-                }
+    /**
+     * Fetches the saved services loaded so far whose details are not loaded yet,
+     * using chunked whereIn(documentId) queries, then shows the window.
+     */
+    private void loadWindow() {
+        List<String> toFetch = new ArrayList<>();
+        for (String id : savedIds) {
+            if (!loadedServices.containsKey(id) && !missingIds.contains(id) && !pendingIds.contains(id)) {
+                toFetch.add(id);
             }
-            adapter.notifyDataSetChanged();
+        }
 
-            if (savedList.isEmpty()) {
-                binding.textEmptySaved.setVisibility(View.VISIBLE);
-            } else {
-                binding.textEmptySaved.setVisibility(View.GONE);
-            }
-        });
+        if (toFetch.isEmpty()) {
+            showWindow();
+            return;
+        }
+
+        pendingIds.addAll(toFetch);
+        DocumentBatchFetcher.fetch(db.collection("services"), toFetch)
+                .addOnSuccessListener(docsById -> {
+                    pendingIds.removeAll(toFetch);
+                    for (String id : toFetch) {
+                        DocumentSnapshot doc = docsById.get(id);
+                        Service service = (doc != null) ? doc.toObject(Service.class) : null;
+                        if (service != null) {
+                            service.setDocumentId(id);
+                            loadedServices.put(id, service);
+                        } else {
+                            // Deleted by the organization; hidden and not fetched again
+                            missingIds.add(id);
+                        }
+                    }
+                    if (binding == null) return;
+                    showWindow();
+                })
+                .addOnFailureListener(ex -> {
+                    pendingIds.removeAll(toFetch);
+                    Log.e(TAG, "Error loading saved services", ex);
+                });
     }
 
     /**
-     * Resets the UI components to reflect an empty list state.
+     * Shows the loaded services, most recently saved first.
      */
-    private void updateUIWithEmptyState() {
+    private void showWindow() {
         savedList.clear();
-        adapter.notifyDataSetChanged();
-        binding.textEmptySaved.setVisibility(View.VISIBLE);
+        for (String id : savedIds) {
+            Service service = loadedServices.get(id);
+            if (service != null) savedList.add(service);
+        }
+        adapter.submitList(new ArrayList<>(savedList));
+
+        if (savedList.isEmpty() && pendingIds.isEmpty()) {
+            binding.textEmptySaved.setVisibility(View.VISIBLE);
+        } else {
+            binding.textEmptySaved.setVisibility(View.GONE);
+        }
     }
 
     /**
-     * Removes the Firestore listener and cleans up UI binding to prevent memory leaks.
+     * Cleans up UI binding to prevent memory leaks. The listener is removed by its ListenerRegistry.
      */
     @Override
     public void onDestroyView() {
         super.onDestroyView();
-        if (savedListener != null) {
-            savedListener.remove();
-        }
         binding = null;
     }
 }
\ No newline at end of file
@@ -16,19 +16,22 @@ import androidx.navigation.Navigation;
 
 import com.bumptech.glide.Glide;
 import com.example.volunhub.R;
+import com.example.volunhub.data.Applications;
+import com.example.volunhub.data.SavedServices;
+import com.example.volunhub.data.ServiceCache;
+import com.example.volunhub.data.StatsCounters;
+import com.example.volunhub.data.UserProfileCache;
 import com.example.volunhub.databinding.FragmentStudentServiceDetailBinding;
 import com.example.volunhub.models.Service;
-import com.google.firebase.Timestamp;
+import com.example.volunhub.models.UserProfile;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.text.SimpleDateFormat;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.TimeZone;
 
 /**
@@ -42,6 +45,7 @@ public class StudentServiceDetailFragment extends Fragment {
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
     private String serviceId;
+    private String orgId;
     private Service currentService;
     private boolean isSaved = false;
     private String currentApplicationStatus = "NOT_APPLIED";
@@ -50,7 +54,7 @@ public class StudentServiceDetailFragment extends Fragment {
     public StudentServiceDetailFragment() {}
 
     /**
-     * Initializes fragment arguments to retrieve the service ID.
+     * Initializes fragment arguments to retrieve the service ID and, if known, the organization ID.
      * @param savedInstanceState Saved state bundle.
      */
     @Override
@@ -58,6 +62,7 @@ public class StudentServiceDetailFragment extends Fragment {
         super.onCreate(savedInstanceState);
         if (getArguments() != null) {
             serviceId = getArguments().getString("serviceId");
+            orgId = getArguments().getString("orgId");
         }
     }
 
@@ -87,7 +92,6 @@ public class StudentServiceDetailFragment extends Fragment {
         mAuth = FirebaseAuth.getInstance();
 
         loadServiceDetails();
-        checkIfSaved();
 
         binding.buttonApplyService.setOnClickListener(v -> applyToService());
         binding.buttonSaveService.setOnClickListener(v -> toggleSaveStatus());
@@ -101,23 +105,6 @@ public class StudentServiceDetailFragment extends Fragment {
         });
     }
 
-    /**
-     * Checks the user's Firestore document to see if this service is in their saved list.
-     */
-    private void checkIfSaved() {
-        if (mAuth.getCurrentUser() == null) return;
-        String myId = mAuth.getCurrentUser().getUid();
-
-        db.collection("users").document(myId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (binding == null || !documentSnapshot.exists()) return;
-
-                    List<String> savedIds = (List<String>) documentSnapshot.get("savedServices");
-                    isSaved = savedIds != null && savedIds.contains(serviceId);
-                    updateSaveButtonUI();
-                });
-    }
-
     /**
      * Adds or removes the service from the user's saved list in Firestore.
      */
@@ -128,8 +115,7 @@ public class StudentServiceDetailFragment extends Fragment {
         binding.buttonSaveService.setEnabled(false);
 
         if (isSaved) {
-            db.collection("users").document(myId)
-                    .update("savedServices", FieldValue.arrayRemove(serviceId))
+            SavedServices.unsave(db, myId, serviceId)
                     .addOnSuccessListener(aVoid -> {
                         if (binding == null) return;
                         isSaved = false;
@@ -140,8 +126,7 @@ public class StudentServiceDetailFragment extends Fragment {
                         if (binding != null) binding.buttonSaveService.setEnabled(true);
                     });
         } else {
-            db.collection("users").document(myId)
-                    .update("savedServices", FieldValue.arrayUnion(serviceId))
+            SavedServices.save(db, myId, serviceId)
                     .addOnSuccessListener(aVoid -> {
                         if (binding == null) return;
                         isSaved = true;
@@ -168,67 +153,93 @@ public class StudentServiceDetailFragment extends Fragment {
     }
 
     /**
-     * Fetches details of the specific service from Firestore and populates the UI.
+     * Shows the service right away if a list screen cached it, then loads the service, the
+     * application status, the saved state and the org logo in parallel and renders them together.
      */
     private void loadServiceDetails() {
         if (serviceId == null) return;
 
-        db.collection("services").document(serviceId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (binding == null) return;
-                    if (documentSnapshot.exists()) {
-                        currentService = documentSnapshot.toObject(Service.class);
-                        if (currentService != null) {
-                            binding.textDetailTitle.setText(currentService.getTitle());
-                            binding.textDetailOrgName.setText(currentService.getOrgName());
-
-                            if (currentService.getServiceDate() != null) {
-                                SimpleDateFormat sdf = new SimpleDateFormat("MMM d, yyyy • h:mm a", Locale.getDefault());
-                                sdf.setTimeZone(TimeZone.getTimeZone("Asia/Kuala_Lumpur"));
-                                binding.textDetailDate.setText(sdf.format(currentService.getServiceDate()));
-                            } else {
-                                binding.textDetailDate.setText("Date TBD");
-                            }
-
-                            String contact = currentService.getContactNumber();
-                            binding.textDetailContactNumber.setText((contact != null && !contact.isEmpty()) ? contact : "No contact info");
-
-                            binding.textDetailVolunteers.setText(currentService.getVolunteersApplied() + " / " + currentService.getVolunteersNeeded());
-                            binding.textDetailDescription.setText(currentService.getDescription());
-                            binding.textDetailRequirements.setText(currentService.getRequirements());
-
-                            loadOrgLogo(currentService.getOrgId());
-                            checkAndSetButtonState();
-                        }
-                    } else {
-                        showServiceUnavailableDialog();
-                    }
-                })
-                .addOnFailureListener(e -> Toast.makeText(getContext(), "Error loading details", Toast.LENGTH_SHORT).show());
+        Service cached = ServiceCache.get(serviceId);
+        if (cached != null) showServiceDetails(cached);
+
+        String studentId = (mAuth.getCurrentUser() != null) ? mAuth.getCurrentUser().getUid() : null;
+        String knownOrgId = (orgId != null) ? orgId : (cached != null ? cached.getOrgId() : null);
+
+        new ServiceDetailLoader(db, UserProfileCache.getInstance())
+                .load(serviceId, knownOrgId, studentId, this::showDetailState);
     }
 
     /**
-     * Checks if the student has an existing application and updates the dialog logic if the service is deleted.
+     * Renders the combined result of the detail loader in one pass.
+     * @param state The loaded state.
      */
-    private void showServiceUnavailableDialog() {
-        if (mAuth.getCurrentUser() == null || serviceId == null) {
-            showSimpleUnavailableDialog();
+    private void showDetailState(ServiceDetailLoader.DetailState state) {
+        if (binding == null) return;
+
+        if (state.serviceMissing) {
+            ServiceCache.remove(serviceId);
+            showServiceUnavailableDialog(state.applicationDoc);
             return;
         }
 
-        db.collection("applications")
-                .whereEqualTo("studentId", mAuth.getCurrentUser().getUid())
-                .whereEqualTo("serviceId", serviceId)
-                .limit(1)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (binding == null) return;
-                    if (!querySnapshot.isEmpty()) {
-                        showUnavailableDialogWithRemoveOption(querySnapshot.getDocuments().get(0).getId());
-                    } else {
-                        showSimpleUnavailableDialog();
-                    }
-                });
+        if (state.service != null) {
+            ServiceCache.put(state.service);
+            showServiceDetails(state.service);
+        } else if (currentService == null) {
+            // The cached copy stays on screen, so only report the error if there is nothing to show
+            Toast.makeText(getContext(), "Error loading details", Toast.LENGTH_SHORT).show();
+        }
+
+        if (state.org != null) showOrgLogo(state.org);
+
+        if (state.saved != null) {
+            isSaved = state.saved;
+            updateSaveButtonUI();
+        }
+
+        if (state.applicationStatus != null) {
+            currentApplicationStatus = state.applicationStatus;
+            currentApplicationDocId = (state.applicationDoc != null) ? state.applicationDoc.getId() : null;
+            updateApplyButtonUI(currentApplicationStatus);
+        }
+    }
+
+    /**
+     * Populates the UI with the service's details.
+     * @param service The service to show.
+     */
+    private void showServiceDetails(Service service) {
+        currentService = service;
+
+        binding.textDetailTitle.setText(currentService.getTitle());
+        binding.textDetailOrgName.setText(currentService.getOrgName());
+
+        if (currentService.getServiceDate() != null) {
+            SimpleDateFormat sdf = new SimpleDateFormat("MMM d, yyyy • h:mm a", Locale.getDefault());
+            sdf.setTimeZone(TimeZone.getTimeZone("Asia/Kuala_Lumpur"));
+            binding.textDetailDate.setText(sdf.format(currentService.getServiceDate()));
+        } else {
+            binding.textDetailDate.setText("Date TBD");
+        }
+
+        String contact = currentService.getContactNumber();
+        binding.textDetailContactNumber.setText((contact != null && !contact.isEmpty()) ? contact : "No contact info");
+
+        binding.textDetailVolunteers.setText(currentService.getVolunteersApplied() + " / " + currentService.getVolunteersNeeded());
+        binding.textDetailDescription.setText(currentService.getDescription());
+        binding.textDetailRequirements.setText(currentService.getRequirements());
+    }
+
+    /**
+     * Tells the student the service was deleted. If they applied to it, they are offered to remove the application.
+     * @param applicationDoc The student's application for the service, or null if there is none.
+     */
+    private void showServiceUnavailableDialog(@Nullable DocumentSnapshot applicationDoc) {
+        if (applicationDoc != null) {
+            showUnavailableDialogWithRemoveOption(applicationDoc);
+        } else {
+            showSimpleUnavailableDialog();
+        }
     }
 
     /**
@@ -245,13 +256,13 @@ public class StudentServiceDetailFragment extends Fragment {
 
     /**
      * Shows a dialog allowing the student to remove an application for a deleted service.
-     * @param applicationDocId The Firestore document ID of the application.
+     * @param applicationDoc The Firestore document of the application.
      */
-    private void showUnavailableDialogWithRemoveOption(String applicationDocId) {
+    private void showUnavailableDialogWithRemoveOption(DocumentSnapshot applicationDoc) {
         AlertDialog dialog = new AlertDialog.Builder(requireContext())
                 .setTitle(R.string.service_unavailable_title)
                 .setMessage(R.string.service_unavailable_message)
-                .setPositiveButton(R.string.remove_application, (d, w) -> removeApplication(applicationDocId))
+                .setPositiveButton(R.string.remove_application, (d, w) -> removeApplication(applicationDoc))
                 .setNegativeButton(R.string.cancel, (d, w) -> d.dismiss())
                 .create();
 
@@ -261,11 +272,16 @@ public class StudentServiceDetailFragment extends Fragment {
     }
 
     /**
-     * Removes the application document from Firestore.
-     * @param applicationDocId The document ID to delete.
+     * Removes the application document from Firestore and its contribution to the stats counters.
+     * @param applicationDoc The application document to delete.
      */
-    private void removeApplication(String applicationDocId) {
-        db.collection("applications").document(applicationDocId).delete()
+    private void removeApplication(DocumentSnapshot applicationDoc) {
+        WriteBatch batch = db.batch();
+        batch.delete(applicationDoc.getReference());
+        StatsCounters.applyStatusChange(batch, db, applicationDoc.getString("orgId"), serviceId,
+                applicationDoc.getString("status"), null, 1);
+
+        batch.commit()
                 .addOnSuccessListener(aVoid -> {
                     if (binding == null) return;
                     Toast.makeText(getContext(), R.string.application_removed_success, Toast.LENGTH_SHORT).show();
@@ -274,20 +290,15 @@ public class StudentServiceDetailFragment extends Fragment {
     }
 
     /**
-     * Queries Firestore for application status to determine the Apply button's state.
+     * Reads the student's application for this service to refresh the Apply button after applying or cancelling.
      */
     private void checkAndSetButtonState() {
         if (mAuth.getCurrentUser() == null || serviceId == null) return;
 
-        db.collection("applications")
-                .whereEqualTo("studentId", mAuth.getCurrentUser().getUid())
-                .whereEqualTo("serviceId", serviceId)
-                .limit(1)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+        Applications.applicationRef(db, mAuth.getCurrentUser().getUid(), serviceId).get()
+                .addOnSuccessListener(doc -> {
                     if (binding == null) return;
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot doc = querySnapshot.getDocuments().get(0);
+                    if (doc.exists()) {
                         currentApplicationStatus = doc.getString("status");
                         currentApplicationDocId = doc.getId();
                     } else {
@@ -300,12 +311,18 @@ public class StudentServiceDetailFragment extends Fragment {
 
     /**
      * Updates the Apply button text and color based on current application status.
+     * The button is only shown once the service is loaded.
      * @param status The status string (Pending, Accepted, Rejected, NOT_APPLIED).
      */
     private void updateApplyButtonUI(String status) {
         if (binding == null) return;
 
         binding.progressBarButtonLoading.setVisibility(View.GONE);
+        // Applying needs the service, so the button stays hidden until it is loaded
+        if (currentService == null) {
+            binding.buttonApplyService.setVisibility(View.GONE);
+            return;
+        }
         binding.buttonApplyService.setVisibility(View.VISIBLE);
         binding.buttonApplyService.setEnabled(true);
 
@@ -337,26 +354,17 @@ public class StudentServiceDetailFragment extends Fragment {
     }
 
     /**
-     * Loads the organization's logo from their user profile document.
-     * @param orgId The organization's UID.
+     * Shows the organization's logo.
+     * @param org The organization's profile.
      */
-    private void loadOrgLogo(String orgId) {
-        if (orgId == null) return;
-
-        db.collection("users").document(orgId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (binding == null || !documentSnapshot.exists()) return;
-
-                    String imageUrl = documentSnapshot.getString("profileImageUrl");
-                    if (getContext() != null) {
-                        Glide.with(getContext())
-                                .load(imageUrl)
-                                .placeholder(R.drawable.default_profile_picture)
-                                .error(R.drawable.default_profile_picture)
-                                .circleCrop()
-                                .into(binding.imageViewStudentServiceDetailCompanyLogo);
-                    }
-                });
+    private void showOrgLogo(UserProfile org) {
+        if (getContext() == null) return;
+        Glide.with(getContext())
+                .load(org.getProfileImageUrl())
+                .placeholder(R.drawable.default_profile_picture)
+                .error(R.drawable.default_profile_picture)
+                .circleCrop()
+                .into(binding.imageViewStudentServiceDetailCompanyLogo);
     }
 
     /**
@@ -371,43 +379,56 @@ public class StudentServiceDetailFragment extends Fragment {
     }
 
     /**
-     * Creates a new application document in Firestore and logs performance for NFR testing.
+     * Creates the student's application for this service and logs performance for NFR testing.
+     * The application is keyed by student and service and written in a transaction with the
+     * org and service Pending counters, so a double tap or a retry cannot create a duplicate.
      */
     private void createApplication() {
+        if (currentService == null) return;
+
         String studentId = mAuth.getCurrentUser().getUid();
         long startTime = System.currentTimeMillis();
         Log.d("NFRTest", "Action Started: Apply clicked at " + startTime);
 
-        Map<String, Object> newApp = new HashMap<>();
-        newApp.put("studentId", studentId);
-        newApp.put("serviceId", serviceId);
-        newApp.put("orgId", currentService.getOrgId());
-        newApp.put("orgName", currentService.getOrgName());
-        newApp.put("serviceTitle", currentService.getTitle());
-        newApp.put("status", "Pending");
-        newApp.put("appliedAt", Timestamp.now());
-        newApp.put("serviceDate", currentService.getServiceDate());
-
-        db.collection("applications").add(newApp)
-                .addOnSuccessListener(ref -> {
+        binding.buttonApplyService.setEnabled(false);
+        Applications.apply(db, studentId, serviceId, currentService)
+                .addOnSuccessListener(created -> {
                     if (binding == null) return;
                     long duration = System.currentTimeMillis() - startTime;
                     Log.d("NFRTest", "Feedback shown. Duration: " + duration + "ms");
 
-                    Toast.makeText(getContext(), "Application submitted!", Toast.LENGTH_SHORT).show();
+                    if (created) {
+                        Toast.makeText(getContext(), "Application submitted!", Toast.LENGTH_SHORT).show();
+                    }
                     checkAndSetButtonState();
                 })
-                .addOnFailureListener(e -> Toast.makeText(getContext(), "Error submitting", Toast.LENGTH_SHORT).show());
+                .addOnFailureListener(e -> {
+                    if (binding != null) binding.buttonApplyService.setEnabled(true);
+                    Toast.makeText(getContext(), "Error submitting", Toast.LENGTH_SHORT).show();
+                });
     }
 
     /**
      * Deletes the student's pending application from Firestore.
+     * Runs as a transaction so an application accepted in the meantime is not deleted or miscounted.
      */
     private void cancelApplication() {
         if (currentApplicationDocId == null) return;
 
-        db.collection("applications").document(currentApplicationDocId).delete()
-                .addOnSuccessListener(aVoid -> {
+        final DocumentReference appRef = db.collection("applications").document(currentApplicationDocId);
+        db.runTransaction(transaction -> {
+                    DocumentSnapshot appSnapshot = transaction.get(appRef);
+                    if (!appSnapshot.exists()) return null;
+                    if (!"Pending".equals(appSnapshot.getString("status"))) {
+                        throw new IllegalStateException("Application is no longer pending");
+                    }
+
+                    transaction.delete(appRef);
+                    StatsCounters.applyStatusChange(transaction, db, appSnapshot.getString("orgId"),
+                            appSnapshot.getString("serviceId"), "Pending", null, 1);
+                    return null;
+                })
+                .addOnSuccessListener(result -> {
                     if (binding == null) return;
                     Toast.makeText(getContext(), "Application Cancelled", Toast.LENGTH_SHORT).show();
                     checkAndSetButtonState();
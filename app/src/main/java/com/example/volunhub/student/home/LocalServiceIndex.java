@@ -0,0 +1,292 @@
+package com.example.volunhub.student.home;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.data.SearchKeywords;
+import com.example.volunhub.models.Service;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * On-device SQLite mirror of the Active services, with an FTS4 table over the searchable text.
+ * Lets the Student home screen search while offline: the match runs on the device and results are
+ * ranked by a weighted term-frequency score, title hits counting most.
+ * <p>
+ * The "services" table holds the fields needed to show a Service card; "services_fts" holds the
+ * text columns and shares its docid with the "services" rowid. Both are written in one transaction.
+ * The mirror is kept up to date by LocalServiceIndexSync.
+ */
+public class LocalServiceIndex extends SQLiteOpenHelper {
+
+    private static final String TAG = "LocalServiceIndex";
+    private static final String DB_NAME = "service_search.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String TABLE = "services";
+    private static final String FTS_TABLE = "services_fts";
+
+    /** Rank weights for the FTS columns, in column order: title, description, requirements, orgName. */
+    private static final double[] COLUMN_WEIGHTS = {4.0, 1.0, 1.0, 2.0};
+
+    @Nullable
+    private static LocalServiceIndex instance;
+
+    /**
+     * Returns the process-wide index.
+     * @param context Any context; the application context is kept.
+     * @return The shared index.
+     */
+    public static synchronized LocalServiceIndex getInstance(Context context) {
+        if (instance == null) {
+            instance = new LocalServiceIndex(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private LocalServiceIndex(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+        // Lets searches read while the sync is writing
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * Creates the mirror and full-text tables.
+     * @param db The database.
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + "documentId TEXT NOT NULL UNIQUE, "
+                + "orgId TEXT, orgName TEXT, title TEXT, description TEXT, requirements TEXT, "
+                + "serviceDate INTEGER, status TEXT, volunteersNeeded INTEGER, volunteersApplied INTEGER, "
+                + "contactNumber TEXT, searchTitle TEXT)");
+        db.execSQL("CREATE INDEX services_status_date ON " + TABLE + " (status, serviceDate)");
+        db.execSQL("CREATE VIRTUAL TABLE " + FTS_TABLE + " USING fts4("
+                + "title, description, requirements, orgName, prefix=\"2,3\")");
+    }
+
+    /**
+     * The mirror can always be rebuilt from Firestore, so upgrades simply recreate it.
+     * @param db The database.
+     * @param oldVersion The old schema version.
+     * @param newVersion The new schema version.
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + FTS_TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+        onCreate(db);
+    }
+
+    /**
+     * Applies a snapshot listener's document changes to the mirror. Must not run on the main thread.
+     * @param changes The changes of one snapshot.
+     */
+    public void applyChanges(List<DocumentChange> changes) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (DocumentChange change : changes) {
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    delete(db, change.getDocument().getId());
+                } else {
+                    upsert(db, change.getDocument());
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Deletes every mirrored service that is not in the given set.
+     * Used after a full server snapshot to drop services that left the query while the app was closed.
+     * Must not run on the main thread.
+     * @param documentIds The IDs of all services currently Active on the server.
+     */
+    public void retainOnly(Set<String> documentIds) {
+        SQLiteDatabase db = getWritableDatabase();
+        List<String> stale = new ArrayList<>();
+        try (Cursor cursor = db.query(TABLE, new String[]{"documentId"}, null, null, null, null, null)) {
+            while (cursor.moveToNext()) {
+                String documentId = cursor.getString(0);
+                if (!documentIds.contains(documentId)) stale.add(documentId);
+            }
+        }
+        if (stale.isEmpty()) return;
+
+        db.beginTransaction();
+        try {
+            for (String documentId : stale) {
+                delete(db, documentId);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        Log.d(TAG, "Pruned " + stale.size() + " services from the local index");
+    }
+
+    /**
+     * Searches the mirror for upcoming Active services. Must not run on the main thread.
+     * Every query word must start a word of the title, description, requirements or organization name.
+     * @param query The search text.
+     * @param limit The maximum number of results.
+     * @return The matching services, best match first.
+     */
+    public List<Service> search(String query, int limit) {
+        List<String> tokens = SearchKeywords.tokenize(query);
+        if (tokens.isEmpty()) return new ArrayList<>();
+
+        StringBuilder match = new StringBuilder();
+        for (String token : tokens) {
+            if (match.length() > 0) match.append(' ');
+            match.append(token).append('*');
+        }
+
+        long start = System.nanoTime();
+        List<ScoredService> scored = new ArrayList<>();
+        String sql = "SELECT s.documentId, s.orgId, s.orgName, s.title, s.description, s.requirements, "
+                + "s.serviceDate, s.status, s.volunteersNeeded, s.volunteersApplied, s.contactNumber, s.searchTitle, "
+                + "matchinfo(" + FTS_TABLE + ", 'pcnx') "
+                + "FROM " + FTS_TABLE + " JOIN " + TABLE + " s ON s.rowid = " + FTS_TABLE + ".docid "
+                + "WHERE " + FTS_TABLE + " MATCH ? AND s.status = 'Active' AND s.serviceDate >= ?";
+
+        try (Cursor cursor = getReadableDatabase().rawQuery(sql,
+                new String[]{match.toString(), String.valueOf(System.currentTimeMillis())})) {
+            while (cursor.moveToNext()) {
+                scored.add(new ScoredService(readService(cursor), score(cursor.getBlob(12))));
+            }
+        }
+
+        Collections.sort(scored, (a, b) -> {
+            int byScore = Double.compare(b.score, a.score);
+            if (byScore != 0) return byScore;
+            return a.service.getServiceDate().compareTo(b.service.getServiceDate());
+        });
+
+        List<Service> results = new ArrayList<>();
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            results.add(scored.get(i).service);
+        }
+        Log.d("NFRTest", "Local search: " + results.size() + " results in "
+                + (System.nanoTime() - start) / 1_000_000.0 + " ms");
+        return results;
+    }
+
+    /**
+     * Scores a row from its matchinfo('pcnx') blob: for every query phrase and column,
+     * the column weight times the hits in this row, scaled by how rare the phrase is overall.
+     * @param matchInfo The matchinfo blob.
+     * @return The row's score; higher is better.
+     */
+    private static double score(byte[] matchInfo) {
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        int rows = buffer.getInt(8);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns && column < COLUMN_WEIGHTS.length; column++) {
+                int offset = 12 + 12 * (phrase * columns + column);
+                int hitsInRow = buffer.getInt(offset);
+                int rowsWithHits = buffer.getInt(offset + 8);
+                if (hitsInRow == 0) continue;
+
+                double rarity = Math.log(1.0 + (double) rows / Math.max(1, rowsWithHits));
+                score += COLUMN_WEIGHTS[column] * hitsInRow * rarity;
+            }
+        }
+        return score;
+    }
+
+    private static Service readService(Cursor cursor) {
+        Service service = new Service(
+                cursor.getString(1), cursor.getString(2), cursor.getString(3), cursor.getString(4),
+                cursor.getString(5), cursor.getLong(8), cursor.getLong(9), new Date(cursor.getLong(6)),
+                null, cursor.getString(7), cursor.getString(11), cursor.getString(10));
+        service.setDocumentId(cursor.getString(0));
+        return service;
+    }
+
+    private static void upsert(SQLiteDatabase db, DocumentSnapshot doc) {
+        Date serviceDate = doc.getDate("serviceDate");
+        Long volunteersNeeded = doc.getLong("volunteersNeeded");
+        Long volunteersApplied = doc.getLong("volunteersApplied");
+
+        ContentValues row = new ContentValues();
+        row.put("documentId", doc.getId());
+        row.put("orgId", doc.getString("orgId"));
+        row.put("orgName", doc.getString("orgName"));
+        row.put("title", doc.getString("title"));
+        row.put("description", doc.getString("description"));
+        row.put("requirements", doc.getString("requirements"));
+        row.put("serviceDate", serviceDate != null ? serviceDate.getTime() : 0L);
+        row.put("status", doc.getString("status"));
+        row.put("volunteersNeeded", volunteersNeeded != null ? volunteersNeeded : 0L);
+        row.put("volunteersApplied", volunteersApplied != null ? volunteersApplied : 0L);
+        row.put("contactNumber", doc.getString("contactNumber"));
+        row.put("searchTitle", doc.getString("searchTitle"));
+
+        ContentValues text = new ContentValues();
+        text.put("title", doc.getString("title"));
+        text.put("description", doc.getString("description"));
+        text.put("requirements", doc.getString("requirements"));
+        text.put("orgName", doc.getString("orgName"));
+
+        long rowId = findRowId(db, doc.getId());
+        if (rowId == -1) {
+            rowId = db.insertOrThrow(TABLE, null, row);
+            text.put("docid", rowId);
+            db.insertOrThrow(FTS_TABLE, null, text);
+        } else {
+            String[] args = {String.valueOf(rowId)};
+            db.update(TABLE, row, "rowid = ?", args);
+            db.update(FTS_TABLE, text, "docid = ?", args);
+        }
+    }
+
+    private static void delete(SQLiteDatabase db, String documentId) {
+        long rowId = findRowId(db, documentId);
+        if (rowId == -1) return;
+        String[] args = {String.valueOf(rowId)};
+        db.delete(FTS_TABLE, "docid = ?", args);
+        db.delete(TABLE, "rowid = ?", args);
+    }
+
+    private static long findRowId(SQLiteDatabase db, String documentId) {
+        try (Cursor cursor = db.rawQuery("SELECT rowid FROM " + TABLE + " WHERE documentId = ?", new String[]{documentId})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+
+    /**
+     * A search hit with its rank score.
+     */
+    private static class ScoredService {
+        final Service service;
+        final double score;
+
+        ScoredService(Service service, double score) {
+            this.service = service;
+            this.score = score;
+        }
+    }
+}
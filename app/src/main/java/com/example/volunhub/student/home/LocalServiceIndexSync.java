@@ -0,0 +1,111 @@
+package com.example.volunhub.student.home;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.Query;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a LocalServiceIndex in step with the soonest upcoming Active services in Firestore.
+ * A snapshot listener delivers only the documents that changed, which are written to SQLite on a
+ * background thread. The first snapshot confirmed by the server also prunes services that closed,
+ * were deleted or fell out of the window while the app was not listening.
+ * <p>
+ * The window is bounded to services dated from now on, capped at MIRROR_LIMIT, so a student does
+ * not download the whole catalogue. There is one sync per process: it is started by the first
+ * Home view of a session and stopped on sign-out, not re-attached by every view.
+ */
+public class LocalServiceIndexSync {
+
+    private static final String TAG = "LocalServiceIndexSync";
+    private static final int MIRROR_LIMIT = 200;
+    private static final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+
+    @Nullable
+    private static LocalServiceIndexSync instance;
+
+    private final FirebaseFirestore db;
+    private final LocalServiceIndex index;
+    @Nullable
+    private ListenerRegistration listener;
+    private volatile boolean pruned = false;
+
+    private LocalServiceIndexSync(FirebaseFirestore db, LocalServiceIndex index) {
+        this.db = db;
+        this.index = index;
+    }
+
+    /**
+     * Returns the process-wide sync.
+     * @param db The Firestore instance.
+     * @param index The index to keep in step.
+     * @return The shared sync.
+     */
+    public static synchronized LocalServiceIndexSync getInstance(FirebaseFirestore db, LocalServiceIndex index) {
+        if (instance == null) {
+            instance = new LocalServiceIndexSync(db, index);
+        }
+        return instance;
+    }
+
+    /**
+     * Stops the shared sync, if there is one, e.g. when the user signs out.
+     */
+    public static synchronized void stopSession() {
+        if (instance != null) instance.stop();
+    }
+
+    /**
+     * Starts listening to the upcoming Active services. Does nothing if already started.
+     */
+    public void start() {
+        if (listener != null) return;
+        pruned = false;
+
+        listener = db.collection("services")
+                .whereEqualTo("status", "Active")
+                .whereGreaterThanOrEqualTo("serviceDate", Timestamp.now())
+                .orderBy("serviceDate", Query.Direction.ASCENDING)
+                .limit(MIRROR_LIMIT)
+                .addSnapshotListener(writeExecutor, MetadataChanges.INCLUDE, (snapshots, error) -> {
+                    if (error != null || snapshots == null) {
+                        Log.e(TAG, "Error listening to services", error);
+                        return;
+                    }
+
+                    if (!snapshots.getDocumentChanges().isEmpty()) {
+                        index.applyChanges(snapshots.getDocumentChanges());
+                    }
+
+                    if (!pruned && !snapshots.getMetadata().isFromCache()) {
+                        Set<String> activeIds = new HashSet<>();
+                        for (DocumentSnapshot doc : snapshots.getDocuments()) {
+                            activeIds.add(doc.getId());
+                        }
+                        index.retainOnly(activeIds);
+                        pruned = true;
+                    }
+                });
+    }
+
+    /**
+     * Stops listening. The mirror keeps its current contents for offline use.
+     */
+    public void stop() {
+        if (listener != null) {
+            listener.remove();
+            listener = null;
+        }
+    }
+}
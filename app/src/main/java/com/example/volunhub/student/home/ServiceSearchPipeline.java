@@ -0,0 +1,391 @@
+package com.example.volunhub.student.home;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.volunhub.data.SearchKeywords;
+import com.example.volunhub.models.Service;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Turns search box keystrokes into Firestore searches for the Student home screen.
+ * <ul>
+ *     <li>Keystrokes are debounced, so only the text the user pauses on is searched.</li>
+ *     <li>Every search gets a sequence number; responses for anything but the latest are dropped,
+ *     so an older, slower response can never overwrite a newer one.</li>
+ *     <li>Queries match words anywhere in the title or description through an array-contains
+ *     query on "searchKeywords" (see SearchKeywords). The longest query word is matched on the
+ *     server and the other words are checked locally. Queries too short to have an indexed word
+ *     fall back to a prefix match on "searchTitle".</li>
+ *     <li>Results are paged with the same page size and cursor model as the browse list, and the
+ *     future-date filter runs on the server, so reads are bounded by the page size. A page the
+ *     local word check empties is followed by at most MAX_FOLLOW_UP_PAGES more; after that the
+ *     user is offered "load more" instead.</li>
+ *     <li>While the device is offline, searches are answered from the LocalServiceIndex mirror
+ *     instead. When connectivity returns, a search answered locally is re-run against the server.</li>
+ *     <li>Results are kept in an LRU cache by query. Refining "bea" to "beac" is answered by
+ *     filtering the cached "bea" results locally once every page of "bea" has been loaded.</li>
+ * </ul>
+ * All methods and callbacks run on the main thread.
+ */
+public class ServiceSearchPipeline {
+
+    private static final String TAG = "ServiceSearchPipeline";
+    private static final int CACHE_ENTRIES = 20;
+    private static final int LOCAL_RESULT_LIMIT = 50;
+    private static final int MAX_FOLLOW_UP_PAGES = 2;
+    private static final ExecutorService localSearchExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Receives the outcome of the pipeline's searches.
+     */
+    public interface Callback {
+        /**
+         * Called when a search or page load starts hitting the network.
+         */
+        void onSearchStarted();
+
+        /**
+         * Called with the first page of results of the latest search.
+         * @param query The normalized query the results belong to.
+         * @param results The matching services, earliest service date first.
+         */
+        void onSearchResults(String query, List<Service> results);
+
+        /**
+         * Called with a further page of results of the latest search.
+         * @param query The normalized query the results belong to.
+         * @param page The next matching services, continuing the previous order.
+         */
+        void onMoreSearchResults(String query, List<Service> page);
+
+        /**
+         * Called after results were delivered when the local word check thinned the page and more
+         * pages remain on the server. They are only loaded on request, through loadMore().
+         * @param query The normalized query the results belong to.
+         */
+        void onMoreResultsAvailable(String query);
+
+        /**
+         * Called when the latest search or page load failed.
+         * @param e The error.
+         */
+        void onSearchFailed(Exception e);
+    }
+
+    /**
+     * The results loaded so far for one query and the cursor to continue from.
+     */
+    private static class SearchResults {
+        final List<Service> services = new ArrayList<>();
+        @Nullable
+        DocumentSnapshot lastDocument;
+        boolean complete;
+    }
+
+    private final FirebaseFirestore db;
+    private final long debounceMs;
+    private final long pageSize;
+    private final Callback callback;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, SearchResults> resultCache = new LruCache<>(CACHE_ENTRIES);
+
+    private long requestSequence = 0;
+    @Nullable
+    private Runnable pendingSearch;
+    @Nullable
+    private String currentQuery;
+    private boolean isLoadingPage = false;
+
+    @Nullable
+    private LocalServiceIndex localIndex;
+    private boolean isOnline = true;
+    private boolean currentQueryServedLocally = false;
+
+    /**
+     * @param db The Firestore instance.
+     * @param debounceMs How long the text must stay unchanged before a search runs.
+     * @param pageSize How many results to load per page.
+     * @param callback Receiver of search results.
+     */
+    public ServiceSearchPipeline(FirebaseFirestore db, long debounceMs, long pageSize, Callback callback) {
+        this.db = db;
+        this.debounceMs = debounceMs;
+        this.pageSize = pageSize;
+        this.callback = callback;
+    }
+
+    /**
+     * Sets the on-device mirror used to answer searches while offline.
+     * @param localIndex The local index, or null to always search the server.
+     */
+    public void setLocalIndex(@Nullable LocalServiceIndex localIndex) {
+        this.localIndex = localIndex;
+    }
+
+    /**
+     * Updates the connectivity state. Coming back online re-runs a search that was answered
+     * from the local index, so the server's results replace the offline ones.
+     * @param online True if the device has a usable network.
+     */
+    public void setOnline(boolean online) {
+        boolean reconnected = online && !isOnline;
+        isOnline = online;
+        if (reconnected && currentQuery != null && currentQueryServedLocally) {
+            Log.d(TAG, "Back online, refreshing \"" + currentQuery + "\" from server");
+            search(currentQuery);
+        }
+    }
+
+    /**
+     * Schedules a search for the given text, replacing any search that has not started yet.
+     * @param searchText The raw text from the search box (must not be empty).
+     */
+    public void submit(String searchText) {
+        cancel();
+        String query = normalize(searchText);
+        pendingSearch = () -> {
+            pendingSearch = null;
+            search(query);
+        };
+        handler.postDelayed(pendingSearch, debounceMs);
+    }
+
+    /**
+     * Loads the next page of the current search, if there is one and no page is already loading.
+     */
+    public void loadMore() {
+        if (currentQuery == null || isLoadingPage) return;
+        SearchResults entry = resultCache.get(currentQuery);
+        if (entry == null || entry.complete || entry.lastDocument == null) return;
+
+        callback.onSearchStarted();
+        fetchPage(currentQuery, entry, requestSequence, false, 0);
+    }
+
+    /**
+     * Cancels the scheduled search and discards responses of searches already in flight.
+     */
+    public void cancel() {
+        if (pendingSearch != null) {
+            handler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        requestSequence++;
+        currentQuery = null;
+        currentQueryServedLocally = false;
+        isLoadingPage = false;
+    }
+
+    /**
+     * Runs a search, answering it from the cache or, while offline, from the local index when possible.
+     * @param query The normalized query.
+     */
+    private void search(String query) {
+        long sequence = ++requestSequence;
+        currentQuery = query;
+        currentQueryServedLocally = false;
+
+        SearchResults cached = findCachedResults(query);
+        if (cached != null) {
+            Log.d(TAG, "Answered \"" + query + "\" from cache");
+            callback.onSearchResults(query, new ArrayList<>(cached.services));
+            return;
+        }
+
+        if (!isOnline && localIndex != null) {
+            searchLocally(query, sequence, localIndex);
+            return;
+        }
+
+        SearchResults entry = new SearchResults();
+        resultCache.put(query, entry);
+        callback.onSearchStarted();
+        fetchPage(query, entry, sequence, true, 0);
+    }
+
+    /**
+     * Fetches the page after the entry's cursor and appends it to the entry.
+     * @param query The normalized query.
+     * @param entry The cache entry being filled.
+     * @param sequence The sequence number of the search this page belongs to.
+     * @param firstPage True if the page is the first one shown for the search.
+     * @param followUps How many pages this request has already fetched automatically because
+     *                  the local word check left them empty.
+     */
+    private void fetchPage(String query, SearchResults entry, long sequence, boolean firstPage, int followUps) {
+        isLoadingPage = true;
+
+        List<String> tokens = SearchKeywords.tokenize(query);
+        Query pageQuery = buildQuery(query, tokens).limit(pageSize);
+        if (entry.lastDocument != null) {
+            pageQuery = pageQuery.startAfter(entry.lastDocument);
+        }
+
+        pageQuery.get()
+                .addOnSuccessListener(querySnapshot -> {
+                    List<Service> page = new ArrayList<>();
+                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
+                        Service service = doc.toObject(Service.class);
+                        if (service != null && matches(service, query, tokens)) {
+                            service.setDocumentId(doc.getId());
+                            page.add(service);
+                        }
+                    }
+
+                    entry.services.addAll(page);
+                    entry.complete = querySnapshot.size() < pageSize;
+                    if (!querySnapshot.isEmpty()) {
+                        entry.lastDocument = querySnapshot.getDocuments().get(querySnapshot.size() - 1);
+                    }
+
+                    if (sequence != requestSequence) {
+                        Log.d(TAG, "Dropping stale results for \"" + query + "\"");
+                        return;
+                    }
+                    if (page.isEmpty() && !entry.complete && followUps < MAX_FOLLOW_UP_PAGES) {
+                        // Every document failed the local word check; try a little further so the list is not left empty
+                        fetchPage(query, entry, sequence, firstPage, followUps + 1);
+                        return;
+                    }
+                    isLoadingPage = false;
+                    if (firstPage) {
+                        callback.onSearchResults(query, page);
+                    } else {
+                        callback.onMoreSearchResults(query, page);
+                    }
+                    // A thinned page may not fill the screen, so scrolling cannot be relied on to continue
+                    if (!entry.complete && page.size() < pageSize) {
+                        callback.onMoreResultsAvailable(query);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    if (entry.services.isEmpty()) resultCache.remove(query);
+                    if (sequence != requestSequence) return;
+                    isLoadingPage = false;
+                    Log.e(TAG, "Error searching services", e);
+                    callback.onSearchFailed(e);
+                });
+    }
+
+    /**
+     * Answers a search from the local index on a background thread.
+     * Local results are not cached, since they are replaced once the device is back online.
+     * @param query The normalized query.
+     * @param sequence The sequence number of the search.
+     * @param index The local index to search.
+     */
+    private void searchLocally(String query, long sequence, LocalServiceIndex index) {
+        currentQueryServedLocally = true;
+        Tasks.call(localSearchExecutor, () -> index.search(query, LOCAL_RESULT_LIMIT))
+                .addOnSuccessListener(results -> {
+                    if (sequence != requestSequence) return;
+                    Log.d(TAG, "Answered \"" + query + "\" from local index");
+                    callback.onSearchResults(query, results);
+                })
+                .addOnFailureListener(e -> {
+                    if (sequence != requestSequence) return;
+                    Log.e(TAG, "Error searching local index", e);
+                    callback.onSearchFailed(e);
+                });
+    }
+
+    /**
+     * Builds the server query for a search, without paging.
+     * @param query The normalized query.
+     * @param tokens The query's indexed words.
+     * @return The query, ordered by service date.
+     */
+    private Query buildQuery(String query, List<String> tokens) {
+        Query base = db.collection("services")
+                .whereEqualTo("status", "Active")
+                .whereGreaterThanOrEqualTo("serviceDate", Timestamp.now());
+
+        if (tokens.isEmpty()) {
+            base = base.whereGreaterThanOrEqualTo("searchTitle", query)
+                    .whereLessThanOrEqualTo("searchTitle", query + "\uf8ff");
+        } else {
+            // The longest word is usually the most selective one
+            String serverToken = tokens.get(0);
+            for (String token : tokens) {
+                if (token.length() > serverToken.length()) serverToken = token;
+            }
+            base = base.whereArrayContains(SearchKeywords.FIELD, serverToken);
+        }
+        return base.orderBy("serviceDate", Query.Direction.ASCENDING);
+    }
+
+    /**
+     * Checks a service against the full query.
+     * @param service The service to check.
+     * @param query The normalized query.
+     * @param tokens The query's indexed words.
+     * @return True if every query word starts a word of the title or description, or, for
+     * queries without indexed words, if the title starts with the query.
+     */
+    private static boolean matches(Service service, String query, List<String> tokens) {
+        if (tokens.isEmpty()) {
+            String title = service.getSearchTitle();
+            return title != null && title.startsWith(query);
+        }
+        return SearchKeywords.build(service.getTitle(), service.getDescription()).containsAll(tokens);
+    }
+
+    /**
+     * Looks for cached results of the query itself or of its longest fully loaded prefix.
+     * A prefix's results are a superset of the query's as long as both are matched the same way
+     * (by keywords or by title prefix), so they are filtered with the same check and by date.
+     * @param query The normalized query.
+     * @return The results, or null if nothing usable is cached.
+     */
+    @Nullable
+    private SearchResults findCachedResults(String query) {
+        SearchResults exact = resultCache.get(query);
+        if (exact != null && (exact.complete || !exact.services.isEmpty())) return exact;
+
+        List<String> tokens = SearchKeywords.tokenize(query);
+        for (int length = query.length() - 1; length > 0; length--) {
+            String prefix = query.substring(0, length);
+            SearchResults prefixResults = resultCache.get(prefix);
+            if (prefixResults == null || !prefixResults.complete) continue;
+            if (SearchKeywords.tokenize(prefix).isEmpty() != tokens.isEmpty()) continue;
+
+            SearchResults filtered = new SearchResults();
+            filtered.complete = true;
+            Date now = new Date();
+            for (Service service : prefixResults.services) {
+                if (matches(service, query, tokens)
+                        && service.getServiceDate() != null && !service.getServiceDate().before(now)) {
+                    filtered.services.add(service);
+                }
+            }
+            resultCache.put(query, filtered);
+            return filtered;
+        }
+        return null;
+    }
+
+    /**
+     * Normalizes search text the same way "searchTitle" is written.
+     * @param searchText The raw text.
+     * @return The lowercased, trimmed text.
+     */
+    private static String normalize(String searchText) {
+        return searchText.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.volunhub.student.home;
 
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -16,6 +22,7 @@ import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.volunhub.data.ServiceCache;
 import com.example.volunhub.databinding.FragmentStudentHomeBinding;
 import com.example.volunhub.models.Service;
 import com.example.volunhub.student.adapters.ServiceAdapter;
@@ -26,7 +33,6 @@ import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -39,6 +45,7 @@ public class StudentHomeFragment extends Fragment {
     private FragmentStudentHomeBinding binding;
     private ServiceAdapter adapter;
     private final List<Service> serviceList = new ArrayList<>();
+    private final List<Service> browseList = new ArrayList<>();
     private FirebaseFirestore db;
     private NavController navController;
     private boolean isLoading = false;
@@ -50,6 +57,14 @@ public class StudentHomeFragment extends Fragment {
     private DocumentSnapshot lastVisibleDocument;
     private boolean isSearchActive = false;
 
+    // --- Search Variables ---
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    private ServiceSearchPipeline searchPipeline;
+
+    // --- Offline Search Variables ---
+    private ConnectivityManager connectivityManager;
+    private ConnectivityManager.NetworkCallback networkCallback;
+
     public StudentHomeFragment() {}
 
     /**
@@ -81,6 +96,8 @@ public class StudentHomeFragment extends Fragment {
         Log.d("NFRTest", "Start Fetching Services: " + startTime);
 
         setupRecyclerView();
+        setupSearchPipeline();
+        setupOfflineSearch();
         setupSearch();
         loadInitialServices();
     }
@@ -89,7 +106,7 @@ public class StudentHomeFragment extends Fragment {
      * Configures the RecyclerView with a layout manager, adapter, and scroll listener for pagination.
      */
     private void setupRecyclerView() {
-        adapter = new ServiceAdapter(serviceList);
+        adapter = new ServiceAdapter();
         LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
         binding.recyclerStudentHomeServices.setLayoutManager(layoutManager);
         binding.recyclerStudentHomeServices.setAdapter(adapter);
@@ -97,14 +114,16 @@ public class StudentHomeFragment extends Fragment {
         // Click Listener: Navigate to Service Detail
         adapter.setOnItemClickListener(service -> {
             Log.d(TAG, "Clicked on service: " + service.getTitle());
+            ServiceCache.put(service);
             StudentHomeFragmentDirections.ActionHomeToServiceDetail action =
                     StudentHomeFragmentDirections.actionHomeToServiceDetail(
                             service.getDocumentId()
                     );
+            action.setOrgId(service.getOrgId());
             navController.navigate(action);
         });
 
-        // Scroll Listener: Trigger loadMoreServices when near bottom
+        // Scroll Listener: Load the next page of the browse list or the search results when near bottom
         binding.recyclerStudentHomeServices.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
             public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
@@ -115,10 +134,15 @@ public class StudentHomeFragment extends Fragment {
                     int totalItemCount = layoutManager.getItemCount();
                     int firstVisibleItemPosition = layoutManager.findFirstVisibleItemPosition();
 
-                    if (!isLoading && !isSearchActive) {
+                    if (!isLoading) {
                         if ((visibleItemCount + firstVisibleItemPosition) >= totalItemCount) {
-                            Log.d(TAG, "Scrolled to bottom. Loading more services...");
-                            loadMoreServices();
+                            if (isSearchActive) {
+                                Log.d(TAG, "Scrolled to bottom. Loading more search results...");
+                                searchPipeline.loadMore();
+                            } else {
+                                Log.d(TAG, "Scrolled to bottom. Loading more services...");
+                                loadMoreServices();
+                            }
                         }
                     }
                 }
@@ -127,7 +151,8 @@ public class StudentHomeFragment extends Fragment {
     }
 
     /**
-     * Sets up the search bar to filter services in real-time.
+     * Sets up the search bar to filter services as the user types.
+     * Clearing the box restores the browse list without another server round trip.
      */
     private void setupSearch() {
         binding.editTextSearch.addTextChangedListener(new TextWatcher() {
@@ -141,16 +166,148 @@ public class StudentHomeFragment extends Fragment {
             public void afterTextChanged(Editable s) {
                 String searchText = getSafeText(s);
                 if (searchText.isEmpty()) {
-                    isSearchActive = false;
-                    loadInitialServices(); // Reload page 1
+                    searchPipeline.cancel();
+                    binding.btnLoadMoreResults.setVisibility(View.GONE);
+                    if (isSearchActive) {
+                        isSearchActive = false;
+                        restoreBrowseList();
+                    }
                 } else {
                     isSearchActive = true;
-                    searchServicesFirestore(searchText); // Search database
+                    searchPipeline.submit(searchText); // Debounced search
                 }
             }
         });
     }
 
+    /**
+     * Creates the search pipeline and maps its results onto the list UI.
+     * When a search's pages are thinned by its word check, further pages are loaded on a tap.
+     */
+    private void setupSearchPipeline() {
+        searchPipeline = new ServiceSearchPipeline(db, SEARCH_DEBOUNCE_MS, PAGE_SIZE, new ServiceSearchPipeline.Callback() {
+            @Override
+            public void onSearchStarted() {
+                if (binding == null) return;
+                isLoading = true;
+                binding.btnLoadMoreResults.setVisibility(View.GONE);
+                binding.progressBar.setVisibility(View.VISIBLE);
+            }
+
+            @Override
+            public void onSearchResults(String query, List<Service> results) {
+                if (binding == null || !isSearchActive) return;
+                Log.d(TAG, "Showing " + results.size() + " results for: " + query);
+                showServices(results);
+                isLoading = false;
+                binding.progressBar.setVisibility(View.GONE);
+            }
+
+            @Override
+            public void onMoreSearchResults(String query, List<Service> page) {
+                if (binding == null || !isSearchActive) return;
+                serviceList.addAll(page);
+                adapter.submitList(new ArrayList<>(serviceList));
+                isLoading = false;
+                binding.progressBar.setVisibility(View.GONE);
+            }
+
+            @Override
+            public void onMoreResultsAvailable(String query) {
+                if (binding == null || !isSearchActive) return;
+                binding.btnLoadMoreResults.setVisibility(View.VISIBLE);
+            }
+
+            @Override
+            public void onSearchFailed(Exception e) {
+                if (binding == null) return;
+                isLoading = false;
+                binding.progressBar.setVisibility(View.GONE);
+            }
+        });
+
+        binding.btnLoadMoreResults.setOnClickListener(v -> {
+            binding.btnLoadMoreResults.setVisibility(View.GONE);
+            searchPipeline.loadMore();
+        });
+    }
+
+    /**
+     * Mirrors the upcoming Active services into the on-device search index and tells the search
+     * pipeline whether it must search that index because the device is offline.
+     * The mirror's listener is shared for the session, so reopening Home does not re-attach it.
+     */
+    private void setupOfflineSearch() {
+        LocalServiceIndex localIndex = LocalServiceIndex.getInstance(requireContext());
+        searchPipeline.setLocalIndex(localIndex);
+        LocalServiceIndexSync.getInstance(db, localIndex).start();
+
+        connectivityManager = (ConnectivityManager) requireContext().getSystemService(Context.CONNECTIVITY_SERVICE);
+        searchPipeline.setOnline(isNetworkAvailable());
+
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        networkCallback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(@NonNull Network network) {
+                mainHandler.post(() -> {
+                    if (binding == null) return;
+                    searchPipeline.setOnline(true);
+                });
+            }
+
+            @Override
+            public void onLost(@NonNull Network network) {
+                mainHandler.post(() -> {
+                    if (binding == null) return;
+                    searchPipeline.setOnline(isNetworkAvailable());
+                });
+            }
+        };
+        connectivityManager.registerDefaultNetworkCallback(networkCallback);
+    }
+
+    /**
+     * Checks whether the default network can currently reach the internet.
+     * @return True if the device is online.
+     */
+    private boolean isNetworkAvailable() {
+        NetworkCapabilities capabilities = connectivityManager.getNetworkCapabilities(connectivityManager.getActiveNetwork());
+        return capabilities != null && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+    }
+
+    /**
+     * Shows the already-loaded browse pages again after the search box is cleared.
+     * Only reloads from the server if nothing has been loaded yet.
+     */
+    private void restoreBrowseList() {
+        if (browseList.isEmpty()) {
+            loadInitialServices();
+            return;
+        }
+        showServices(browseList);
+        isLoading = false;
+        binding.progressBar.setVisibility(View.GONE);
+    }
+
+    /**
+     * Replaces the displayed list and toggles the empty state.
+     * @param services The services to display.
+     */
+    private void showServices(List<Service> services) {
+        binding.btnLoadMoreResults.setVisibility(View.GONE);
+        serviceList.clear();
+        serviceList.addAll(services);
+        adapter.submitList(new ArrayList<>(serviceList));
+
+        if (serviceList.isEmpty()) {
+            binding.emptyView.setVisibility(View.VISIBLE);
+            binding.recyclerStudentHomeServices.setVisibility(View.GONE);
+        } else {
+            binding.emptyView.setVisibility(View.GONE);
+            binding.recyclerStudentHomeServices.setVisibility(View.VISIBLE);
+        }
+    }
+
     /**
      * Loads the first page of active services from Firestore.
      * Captures performance metrics for NFR testing.
@@ -190,15 +347,19 @@ public class StudentHomeFragment extends Fragment {
                     binding.emptyView.setVisibility(View.GONE);
                     binding.recyclerStudentHomeServices.setVisibility(View.VISIBLE);
 
-                    serviceList.clear();
+                    browseList.clear();
                     for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
                         Service service = doc.toObject(Service.class);
                         if (service != null) {
                             service.setDocumentId(doc.getId());
-                            serviceList.add(service);
+                            browseList.add(service);
                         }
                     }
-                    adapter.notifyDataSetChanged();
+                    if (!isSearchActive) {
+                        serviceList.clear();
+                        serviceList.addAll(browseList);
+                        adapter.submitList(new ArrayList<>(serviceList));
+                    }
 
                     long endTime = System.currentTimeMillis();
                     long duration = endTime - startTime;
@@ -250,17 +411,21 @@ public class StudentHomeFragment extends Fragment {
                     }
 
                     Log.d(TAG, "Loaded " + querySnapshot.size() + " more services");
-                    int startPosition = serviceList.size();
+                    List<Service> page = new ArrayList<>();
 
                     for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
                         Service service = doc.toObject(Service.class);
                         if (service != null) {
                             service.setDocumentId(doc.getId());
-                            serviceList.add(service);
+                            page.add(service);
                         }
                     }
 
-                    adapter.notifyItemRangeInserted(startPosition, querySnapshot.size());
+                    browseList.addAll(page);
+                    if (!isSearchActive) {
+                        serviceList.addAll(page);
+                        adapter.submitList(new ArrayList<>(serviceList));
+                    }
 
                     int count = querySnapshot.size();
                     Log.d("NFRTest", "Pagination: Next Batch Loaded. Count: " + count + " items.");
@@ -276,92 +441,14 @@ public class StudentHomeFragment extends Fragment {
                 });
     }
 
-    /**
-     * Performs a Firestore query to find services matching the search text.
-     * @param searchText The text entered by the user.
-     */
-    private void searchServicesFirestore(String searchText) {
-        Log.d(TAG, "Searching for: " + searchText);
-        isLoading = true;
-        lastVisibleDocument = null;
-        binding.progressBar.setVisibility(View.VISIBLE);
-
-        String queryText = searchText.toLowerCase();
-        Timestamp now = Timestamp.now();
-
-        db.collection("services")
-                .whereEqualTo("status", "Active")
-                .orderBy("searchTitle")
-                .startAt(queryText)
-                .endAt(queryText + "\uf8ff")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (binding == null) return;
-                    serviceList.clear();
-
-                    if (querySnapshot == null || querySnapshot.isEmpty()) {
-                        binding.emptyView.setVisibility(View.VISIBLE);
-                        binding.recyclerStudentHomeServices.setVisibility(View.GONE);
-                        isLoading = false;
-                        binding.progressBar.setVisibility(View.GONE);
-                        return;
-                    }
-
-                    List<DocumentSnapshot> docs = new ArrayList<>(querySnapshot.getDocuments());
-                    List<DocumentSnapshot> filtered = new ArrayList<>();
-
-                    // Filter future events locally since complex queries are limited
-                    for (DocumentSnapshot d : docs) {
-                        Timestamp serviceTimestamp = d.getTimestamp("serviceDate");
-                        if (serviceTimestamp != null && serviceTimestamp.compareTo(now) >= 0) {
-                            filtered.add(d);
-                        }
-                    }
-
-                    // Sort by service date (earliest first)
-                    Collections.sort(filtered, (d1, d2) -> {
-                        Timestamp t1 = d1.getTimestamp("serviceDate");
-                        Timestamp t2 = d2.getTimestamp("serviceDate");
-
-                        if (t1 == null && t2 == null) return 0;
-                        if (t1 == null) return 1;
-                        if (t2 == null) return -1;
-                        return t1.compareTo(t2);
-                    });
-
-                    for (DocumentSnapshot doc : filtered) {
-                        Service service = doc.toObject(Service.class);
-                        if (service != null) {
-                            service.setDocumentId(doc.getId());
-                            serviceList.add(service);
-                        }
-                    }
-
-                    if (serviceList.isEmpty()) {
-                        binding.emptyView.setVisibility(View.VISIBLE);
-                        binding.recyclerStudentHomeServices.setVisibility(View.GONE);
-                    } else {
-                        binding.emptyView.setVisibility(View.GONE);
-                        binding.recyclerStudentHomeServices.setVisibility(View.VISIBLE);
-                    }
-
-                    adapter.notifyDataSetChanged();
-                    isLoading = false;
-                    binding.progressBar.setVisibility(View.GONE);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error searching services", e);
-                    isLoading = false;
-                    binding.progressBar.setVisibility(View.GONE);
-                });
-    }
-
     /**
      * Cleans up the binding and listeners when the view is destroyed.
      */
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        searchPipeline.cancel();
+        connectivityManager.unregisterNetworkCallback(networkCallback);
 
         if (servicesListener != null) {
             servicesListener.remove();
@@ -23,10 +23,11 @@ import com.cloudinary.android.MediaManager;
 import com.cloudinary.android.callback.ErrorInfo;
 import com.cloudinary.android.callback.UploadCallback;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.FragmentStudentEditProfileBinding;
+import com.example.volunhub.models.UserProfile;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
@@ -42,7 +43,6 @@ public class StudentEditProfileFragment extends Fragment {
     private FragmentStudentEditProfileBinding binding;
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
-    private DocumentReference studentDocRef;
 
     private Uri selectedImageUri = null;
     private String currentImageUrl = null;
@@ -77,7 +77,6 @@ public class StudentEditProfileFragment extends Fragment {
         mAuth = FirebaseAuth.getInstance();
 
         if (mAuth.getCurrentUser() == null) return;
-        studentDocRef = db.collection("users").document(mAuth.getCurrentUser().getUid());
 
         setupValidationListeners();
         setupImagePicker();
@@ -118,19 +117,20 @@ public class StudentEditProfileFragment extends Fragment {
     }
 
     /**
-     * Fetches current student data from Firestore and populates the UI fields.
+     * Populates the UI fields from the session's cached profile.
+     * The fields are filled once, so later profile updates do not overwrite the user's edits.
      */
     private void loadCurrentProfileData() {
-        studentDocRef.get().addOnSuccessListener(doc -> {
-            if (binding == null || !doc.exists()) return;
+        UserSession session = UserSession.getInstance();
+        session.start(db, mAuth.getCurrentUser().getUid()).addOnSuccessListener(doc -> {
+            UserProfile profile = session.getProfile();
+            if (binding == null || profile == null) return;
 
-            binding.editTextEditStudentName.setText(doc.getString("studentName"));
+            binding.editTextEditStudentName.setText(profile.getStudentName());
 
-            Object ageObj = doc.get("studentAge");
-            if (ageObj != null) binding.editTextEditStudentAge.setText(ageObj.toString());
+            if (profile.getStudentAge() != null) binding.editTextEditStudentAge.setText(profile.getStudentAge());
 
-            String gender = doc.getString("studentGender");
-            if (gender == null) gender = doc.getString("gender");
+            String gender = profile.getStudentGender();
 
             if ("Male".equalsIgnoreCase(gender)) {
                 binding.radioBtnMale.setChecked(true);
@@ -138,8 +138,7 @@ public class StudentEditProfileFragment extends Fragment {
                 binding.radioBtnFemale.setChecked(true);
             }
 
-            String contact = doc.getString("contactNumber");
-            if (contact == null) contact = doc.getString("contact");
+            String contact = profile.getContactNumber();
 
             if (contact != null) {
                 if (contact.startsWith("+60")) {
@@ -149,13 +148,10 @@ public class StudentEditProfileFragment extends Fragment {
                 }
             }
 
-            binding.editTextEditStudentIntro.setText(doc.getString("studentIntroduction"));
+            binding.editTextEditStudentIntro.setText(profile.getStudentIntroduction());
+            binding.editTextEditStudentExperience.setText(profile.getStudentExperience());
 
-            String experience = doc.getString("studentExperience");
-            if (experience == null) experience = doc.getString("volunteerExperience");
-            binding.editTextEditStudentExperience.setText(experience);
-
-            currentImageUrl = doc.getString("profileImageUrl");
+            currentImageUrl = profile.getProfileImageUrl();
             if (currentImageUrl != null && !currentImageUrl.isEmpty()) {
                 if (getContext() != null) {
                     Glide.with(getContext())
@@ -265,10 +261,11 @@ public class StudentEditProfileFragment extends Fragment {
 
     /**
      * Performs the final update to the student's document in Firestore.
+     * The session's cached profile shows the new values before the write completes.
      * @param updates The map containing fields to be updated.
      */
     private void updateFirestore(Map<String, Object> updates) {
-        studentDocRef.update(updates).addOnSuccessListener(aVoid -> {
+        UserSession.getInstance().update(updates).addOnSuccessListener(aVoid -> {
             setLoading(false);
             showToast(R.string.msg_signup_success);
             Navigation.findNavController(requireView()).popBackStack();
@@ -15,7 +15,9 @@ import androidx.navigation.Navigation;
 
 import com.bumptech.glide.Glide;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserSession;
 import com.example.volunhub.databinding.FragmentStudentProfileBinding;
+import com.example.volunhub.models.UserProfile;
 import com.example.volunhub.student.StudentHomeActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -30,6 +32,7 @@ public class StudentProfileFragment extends Fragment {
     private FragmentStudentProfileBinding binding;
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
+    private final UserSession.Listener profileListener = this::showProfile;
 
     public StudentProfileFragment() {}
 
@@ -92,77 +95,71 @@ public class StudentProfileFragment extends Fragment {
     }
 
     /**
-     * Fetches and displays the student's profile data from Firestore.
+     * Starts the user session if needed and shows the profile whenever it changes.
      */
     private void loadProfileData() {
         if (mAuth.getCurrentUser() == null) return;
         String studentId = mAuth.getCurrentUser().getUid();
 
-        db.collection("users").document(studentId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (binding == null) return;
-                    if (documentSnapshot.exists()) {
-
-                        // Name
-                        String studentName = documentSnapshot.getString("studentName");
-                        binding.textStudentProfileName.setText(
-                                (studentName != null) ? studentName : "Student Name"
-                        );
-
-                        // Subtitle: Age & Gender
-                        Object ageObj = documentSnapshot.get("studentAge");
-                        String ageText = (ageObj != null) ? String.valueOf(ageObj) : "N/A";
-
-                        String gender = documentSnapshot.getString("studentGender");
-                        if (gender == null) gender = documentSnapshot.getString("gender");
-                        String genderText = (gender != null) ? gender : "N/A";
-
-                        binding.textStudentProfileSubtitle.setText(ageText + " Years Old • " + genderText);
-
-                        // Contact Info
-                        String email = documentSnapshot.getString("email");
-                        binding.textStudentProfileEmail.setText(
-                                (email != null) ? email : "No email"
-                        );
-
-                        String contact = documentSnapshot.getString("contact");
-                        if (contact == null) contact = documentSnapshot.getString("contactNumber");
-                        binding.textStudentProfileContact.setText(
-                                (contact != null) ? contact : "No contact number"
-                        );
-
-                        // About Me
-                        String intro = documentSnapshot.getString("studentIntroduction");
-                        binding.textStudentProfileIntro.setText(
-                                (intro != null && !intro.isEmpty()) ? intro : "No introduction provided."
-                        );
-
-                        // Experience
-                        String experience = documentSnapshot.getString("studentExperience");
-                        if (experience == null) experience = documentSnapshot.getString("volunteerExperience");
-
-                        binding.textStudentProfileExperience.setText(
-                                (experience != null && !experience.isEmpty()) ? experience : "No experience listed."
-                        );
-
-                        // Profile Picture
-                        if (getContext() != null) {
-                            String imageUrl = documentSnapshot.getString("profileImageUrl");
-                            if (imageUrl != null && !imageUrl.trim().isEmpty()) {
-                                Glide.with(getContext())
-                                        .load(imageUrl)
-                                        .placeholder(R.drawable.default_profile_picture)
-                                        .centerCrop()
-                                        .into(binding.imageStudentProfilePicture);
-                            } else {
-                                binding.imageStudentProfilePicture.setImageResource(R.drawable.default_profile_picture);
-                            }
-                        }
-                    } else {
-                        Log.w(TAG, "Student document not found.");
-                    }
-                })
+        UserSession.getInstance().start(db, studentId)
                 .addOnFailureListener(e -> Log.e(TAG, "Error loading student profile", e));
+        UserSession.getInstance().addListener(profileListener);
+    }
+
+    /**
+     * Displays the student's profile from the session cache.
+     * @param profile The current profile.
+     */
+    private void showProfile(UserProfile profile) {
+        if (binding == null) return;
+
+        // Name
+        String studentName = profile.getStudentName();
+        binding.textStudentProfileName.setText(
+                (studentName != null) ? studentName : "Student Name"
+        );
+
+        // Subtitle: Age & Gender
+        String ageText = (profile.getStudentAge() != null) ? profile.getStudentAge() : "N/A";
+        String genderText = (profile.getStudentGender() != null) ? profile.getStudentGender() : "N/A";
+        binding.textStudentProfileSubtitle.setText(ageText + " Years Old • " + genderText);
+
+        // Contact Info
+        String email = profile.getEmail();
+        binding.textStudentProfileEmail.setText(
+                (email != null) ? email : "No email"
+        );
+
+        String contact = profile.getContactNumber();
+        binding.textStudentProfileContact.setText(
+                (contact != null) ? contact : "No contact number"
+        );
+
+        // About Me
+        String intro = profile.getStudentIntroduction();
+        binding.textStudentProfileIntro.setText(
+                (intro != null && !intro.isEmpty()) ? intro : "No introduction provided."
+        );
+
+        // Experience
+        String experience = profile.getStudentExperience();
+        binding.textStudentProfileExperience.setText(
+                (experience != null && !experience.isEmpty()) ? experience : "No experience listed."
+        );
+
+        // Profile Picture
+        if (getContext() != null) {
+            String imageUrl = profile.getProfileImageUrl();
+            if (imageUrl != null && !imageUrl.trim().isEmpty()) {
+                Glide.with(getContext())
+                        .load(imageUrl)
+                        .placeholder(R.drawable.default_profile_picture)
+                        .centerCrop()
+                        .into(binding.imageStudentProfilePicture);
+            } else {
+                binding.imageStudentProfilePicture.setImageResource(R.drawable.default_profile_picture);
+            }
+        }
     }
 
     /**
@@ -171,6 +168,7 @@ public class StudentProfileFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        UserSession.getInstance().removeListener(profileListener);
 
         if (getActivity() != null) {
             Toolbar toolbar = getActivity().findViewById(R.id.toolbar);
@@ -12,8 +12,8 @@ import androidx.fragment.app.Fragment;
 
 import com.bumptech.glide.Glide;
 import com.example.volunhub.R;
+import com.example.volunhub.data.UserProfileCache;
 import com.example.volunhub.databinding.FragmentViewOrgProfileBinding;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * Fragment that allows students to view the public profile of an Organization.
@@ -23,7 +23,6 @@ public class ViewOrgProfileFragment extends Fragment {
 
     private static final String TAG = "ViewOrgProfile";
     private FragmentViewOrgProfileBinding binding;
-    private FirebaseFirestore db;
     private String orgId;
 
     public ViewOrgProfileFragment() {}
@@ -54,7 +53,7 @@ public class ViewOrgProfileFragment extends Fragment {
     }
 
     /**
-     * Initializes Firestore and triggers data loading after the view is created.
+     * Triggers data loading after the view is created.
      * @param view The View returned by onCreateView.
      * @param savedInstanceState Saved state bundle.
      */
@@ -62,8 +61,6 @@ public class ViewOrgProfileFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        db = FirebaseFirestore.getInstance();
-
         if (orgId != null && !orgId.isEmpty()) {
             loadOrgProfileData(orgId);
         } else {
@@ -73,43 +70,40 @@ public class ViewOrgProfileFragment extends Fragment {
     }
 
     /**
-     * Fetches organization data from Firestore and populates the UI fields.
+     * Loads the organization's profile through the shared profile cache and populates the UI fields.
      * @param orgId The unique ID of the organization to load.
      */
     private void loadOrgProfileData(String orgId) {
-        db.collection("users").document(orgId).get()
-                .addOnSuccessListener(documentSnapshot -> {
+        UserProfileCache.getInstance().get(orgId)
+                .addOnSuccessListener(profile -> {
                     // Check if fragment is still attached to avoid NullPointerException
                     if (binding == null) return;
 
-                    if (documentSnapshot.exists()) {
+                    if (profile != null) {
                         // 1. Basic Info
-                        String orgName = documentSnapshot.getString("orgCompanyName");
+                        String orgName = profile.getOrgCompanyName();
                         binding.textViewOrgName.setText(
                                 (orgName != null && !orgName.isEmpty()) ? orgName : "Organization Name"
                         );
 
-                        String orgField = documentSnapshot.getString("orgField");
+                        String orgField = profile.getOrgField();
                         binding.textViewOrgField.setText(
                                 (orgField != null && !orgField.isEmpty()) ? orgField : "Industry Unknown"
                         );
 
                         // 2. Contact Info
-                        String email = documentSnapshot.getString("email");
+                        String email = profile.getEmail();
                         binding.textViewOrgEmail.setText(
                                 (email != null && !email.isEmpty()) ? email : "No email provided"
                         );
 
-                        // Support legacy or alternate contact field names
-                        String contact = documentSnapshot.getString("contactNumber");
-                        if (contact == null) contact = documentSnapshot.getString("contact");
-
+                        String contact = profile.getContactNumber();
                         binding.textViewOrgPhone.setText(
                                 (contact != null && !contact.isEmpty()) ? contact : "No contact number"
                         );
 
                         // 3. Description
-                        String desc = documentSnapshot.getString("orgDescription");
+                        String desc = profile.getOrgDescription();
                         binding.textViewOrgDesc.setText(
                                 (desc != null && !desc.isEmpty()) ? desc : "No description provided."
                         );
@@ -117,7 +111,7 @@ public class ViewOrgProfileFragment extends Fragment {
                         // 4. Logo
                         if (getContext() != null) {
                             Glide.with(getContext())
-                                    .load(documentSnapshot.getString("profileImageUrl"))
+                                    .load(profile.getProfileImageUrl())
                                     .placeholder(R.drawable.ic_org_dashboard)
                                     .centerCrop()
                                     .into(binding.imageViewOrgLogo);
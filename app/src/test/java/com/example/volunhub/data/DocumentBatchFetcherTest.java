@@ -0,0 +1,86 @@
+package com.example.volunhub.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks how many round trips DocumentBatchFetcher issues, using a fake backend that records each chunk query.
+ */
+public class DocumentBatchFetcherTest {
+
+    /** A fake backend: "returns" the chunk it was asked for and counts the round trips. */
+    private static class RecordingQuery implements DocumentBatchFetcher.ChunkQuery<List<String>> {
+        final List<List<String>> chunks = new ArrayList<>();
+
+        @Override
+        public List<String> query(List<String> chunk) {
+            chunks.add(chunk);
+            return chunk;
+        }
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) ids.add("doc" + i);
+        return ids;
+    }
+
+    private static int roundTrips(List<String> ids) {
+        RecordingQuery backend = new RecordingQuery();
+        DocumentBatchFetcher.dispatch(ids, backend);
+        for (List<String> chunk : backend.chunks) {
+            assertTrue(chunk.size() <= DocumentBatchFetcher.WHERE_IN_LIMIT);
+        }
+        return backend.chunks.size();
+    }
+
+    @Test
+    public void noIds_noRoundTrips() {
+        assertEquals(0, roundTrips(ids(0)));
+    }
+
+    @Test
+    public void oneFullChunk_oneRoundTrip() {
+        assertEquals(1, roundTrips(ids(30)));
+    }
+
+    @Test
+    public void oneOverLimit_twoRoundTrips() {
+        assertEquals(2, roundTrips(ids(31)));
+    }
+
+    @Test
+    public void sixtyOne_threeRoundTrips() {
+        assertEquals(3, roundTrips(ids(61)));
+    }
+
+    @Test
+    public void nullEmptyAndDuplicateIds_areDropped() {
+        RecordingQuery backend = new RecordingQuery();
+        List<List<String>> results = DocumentBatchFetcher.dispatch(
+                Arrays.asList("a", null, "", "b", "a", "  ", null), backend);
+
+        assertEquals(1, results.size());
+        assertEquals(Arrays.asList("a", "b"), results.get(0));
+    }
+
+    @Test
+    public void onlyNullIds_noRoundTrips() {
+        assertEquals(0, roundTrips(Arrays.asList(null, null)));
+    }
+
+    @Test
+    public void everyIdIsQueriedOnce_inOrder() {
+        RecordingQuery backend = new RecordingQuery();
+        DocumentBatchFetcher.dispatch(ids(61), backend);
+
+        List<String> queried = new ArrayList<>();
+        for (List<String> chunk : backend.chunks) queried.addAll(chunk);
+        assertEquals(ids(61), queried);
+    }
+}
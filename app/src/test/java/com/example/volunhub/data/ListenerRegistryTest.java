@@ -0,0 +1,150 @@
+package com.example.volunhub.data;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+import com.google.firebase.firestore.ListenerRegistration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives ListenerRegistry through a fake view lifecycle and checks that listeners are attached
+ * only while it is active and that none are left attached once it is destroyed.
+ */
+public class ListenerRegistryTest {
+
+    /** A view lifecycle the test moves by hand. */
+    private static class FakeViewLifecycle implements LifecycleOwner {
+        // createUnsafe skips the main-thread check, which needs a Looper
+        final LifecycleRegistry registry = LifecycleRegistry.createUnsafe(this);
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+
+        void moveTo(Lifecycle.State state) {
+            registry.setCurrentState(state);
+        }
+    }
+
+    /** A fake listener backend: counts how often a listener is attached and removed. */
+    private static class FakeListener implements ListenerRegistry.Starter {
+        int started = 0;
+        int removed = 0;
+
+        @Override
+        public ListenerRegistration start() {
+            started++;
+            return () -> removed++;
+        }
+    }
+
+    private FakeViewLifecycle view;
+    private int totalBefore;
+
+    @Before
+    public void setUp() {
+        view = new FakeViewLifecycle();
+        view.moveTo(Lifecycle.State.CREATED);
+        totalBefore = ListenerRegistry.getTotalActiveCount();
+    }
+
+    @Test
+    public void destroyedView_leavesNoListenerAttached() {
+        ListenerRegistry registry = ListenerRegistry.bind(view);
+        FakeListener first = new FakeListener();
+        FakeListener second = new FakeListener();
+        registry.add("first", first);
+        registry.add("second", second);
+        view.moveTo(Lifecycle.State.RESUMED);
+        assertEquals(2, registry.getActiveCount());
+        assertEquals(totalBefore + 2, ListenerRegistry.getTotalActiveCount());
+
+        view.moveTo(Lifecycle.State.DESTROYED);
+
+        assertEquals(0, registry.getActiveCount());
+        assertEquals(0, registry.getRegisteredCount());
+        assertEquals(totalBefore, ListenerRegistry.getTotalActiveCount());
+        assertEquals(first.started, first.removed);
+        assertEquals(second.started, second.removed);
+    }
+
+    @Test
+    public void stoppedView_pausesListeners_andRestartReattachesThem() {
+        ListenerRegistry registry = ListenerRegistry.bind(view);
+        FakeListener listener = new FakeListener();
+        registry.add("services", listener);
+        assertEquals(0, listener.started);
+
+        view.moveTo(Lifecycle.State.STARTED);
+        assertEquals(1, registry.getActiveCount());
+
+        view.moveTo(Lifecycle.State.CREATED);
+        assertEquals(0, registry.getActiveCount());
+        assertEquals(1, registry.getRegisteredCount());
+        assertEquals(1, listener.removed);
+
+        view.moveTo(Lifecycle.State.STARTED);
+        assertEquals(1, registry.getActiveCount());
+        assertEquals(2, listener.started);
+
+        view.moveTo(Lifecycle.State.DESTROYED);
+        assertEquals(totalBefore, ListenerRegistry.getTotalActiveCount());
+    }
+
+    @Test
+    public void addingUnderTheSameKey_replacesTheListener() {
+        ListenerRegistry registry = ListenerRegistry.bind(view);
+        view.moveTo(Lifecycle.State.STARTED);
+        FakeListener narrow = new FakeListener();
+        FakeListener wide = new FakeListener();
+
+        registry.add("page", narrow);
+        registry.add("page", wide);
+
+        assertEquals(1, narrow.removed);
+        assertEquals(1, registry.getActiveCount());
+        view.moveTo(Lifecycle.State.DESTROYED);
+        assertEquals(1, wide.removed);
+    }
+
+    @Test
+    public void tabRegistry_listensOnlyWhileResumed() {
+        ListenerRegistry registry = ListenerRegistry.bindToTab(view);
+        FakeListener listener = new FakeListener();
+        registry.add("saved", listener);
+
+        // ViewPager2 keeps offscreen tabs at STARTED
+        view.moveTo(Lifecycle.State.STARTED);
+        assertEquals(0, registry.getActiveCount());
+
+        view.moveTo(Lifecycle.State.RESUMED);
+        assertEquals(1, registry.getActiveCount());
+
+        view.moveTo(Lifecycle.State.STARTED);
+        assertEquals(0, registry.getActiveCount());
+
+        view.moveTo(Lifecycle.State.DESTROYED);
+        assertEquals(totalBefore, ListenerRegistry.getTotalActiveCount());
+    }
+
+    @Test
+    public void addAfterDestroy_isIgnored() {
+        ListenerRegistry registry = ListenerRegistry.bind(view);
+        view.moveTo(Lifecycle.State.DESTROYED);
+        FakeListener listener = new FakeListener();
+
+        registry.add("late", listener);
+
+        assertEquals(0, listener.started);
+        assertEquals(0, registry.getRegisteredCount());
+        assertEquals(totalBefore, ListenerRegistry.getTotalActiveCount());
+    }
+}
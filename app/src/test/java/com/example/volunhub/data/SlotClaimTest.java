@@ -0,0 +1,287 @@
+package com.example.volunhub.data;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs SlotClaim.accept, the accept flow ServiceSlots uses, against an in-memory stand-in for a
+ * service's slots with Firestore-like transactions, including two accepts racing for the last slot.
+ */
+public class SlotClaimTest {
+
+    /** Runs continuations on the calling thread, so an accept completes before it returns. */
+    private static final Executor DIRECT = Runnable::run;
+
+    /** The result of one accept, as OrgPendingApplicantsFragment tells them apart. */
+    private enum Result { ACCEPTED, FULL, FAILED }
+
+    /** Always picks the first free slot, so concurrent accepts collide on it. */
+    private static class FirstSlot extends Random {
+        @Override
+        public int nextInt(int bound) {
+            return 0;
+        }
+    }
+
+    /**
+     * A stand-in for one service's slots and applications with optimistic transactions: a
+     * transaction records the version of every document it reads and only commits if none of
+     * them changed, otherwise its body is run again, as Firestore does.
+     */
+    private static class InMemoryService {
+        final int needed;
+        final Map<String, String> slots = new HashMap<>();
+        final Map<String, String> statuses = new HashMap<>();
+        final Map<String, Integer> versions = new HashMap<>();
+        int volunteersApplied = 0;
+        int claimAttempts = 0;
+        boolean closed = false;
+        /** Run after the free slots are listed and again after a transaction's reads. */
+        Runnable step = () -> {};
+
+        InMemoryService(int needed) {
+            this.needed = needed;
+        }
+
+        synchronized int version(String key) {
+            Integer version = versions.get(key);
+            return version != null ? version : 0;
+        }
+
+        /** The accept of one application, as ServiceSlots.FirestoreSlots provides it. */
+        SlotClaim.Slots forApplication(String applicationId) {
+            return new SlotClaim.Slots() {
+                @Override
+                public Task<List<Integer>> freeSlots() {
+                    List<String> slotIds;
+                    synchronized (InMemoryService.this) {
+                        slotIds = new ArrayList<>(slots.keySet());
+                    }
+                    List<Integer> free = SlotClaim.freeSlots(needed, slotIds);
+                    step.run();
+                    return Tasks.forResult(free);
+                }
+
+                @Override
+                public Task<SlotClaim.Outcome> claim(int slot) {
+                    return Tasks.forResult(claimSlot(slot, applicationId));
+                }
+
+                @Override
+                public Task<Void> closeIfFull() {
+                    synchronized (InMemoryService.this) {
+                        if (slots.size() >= needed) closed = true;
+                    }
+                    return Tasks.forResult(null);
+                }
+            };
+        }
+
+        /** Mirrors ServiceSlots.claimSlot: read the slot and the application, decide, and claim only on CLAIM. */
+        SlotClaim.Outcome claimSlot(int slot, String applicationId) {
+            String slotKey = "slot/" + slot;
+            String appKey = "app/" + applicationId;
+            while (true) {
+                int slotVersion;
+                int appVersion;
+                boolean taken;
+                String status;
+                synchronized (this) {
+                    claimAttempts++;
+                    slotVersion = version(slotKey);
+                    appVersion = version(appKey);
+                    taken = slots.containsKey(String.valueOf(slot));
+                    status = statuses.get(applicationId);
+                }
+                step.run();
+                SlotClaim.Outcome outcome = SlotClaim.decide(taken, status != null, status);
+
+                synchronized (this) {
+                    // A document read by this attempt changed: run the body again
+                    if (version(slotKey) != slotVersion || version(appKey) != appVersion) continue;
+                    if (outcome != SlotClaim.Outcome.CLAIM) return outcome;
+
+                    slots.put(String.valueOf(slot), applicationId);
+                    statuses.put(applicationId, "Accepted");
+                    versions.put(slotKey, slotVersion + 1);
+                    versions.put(appKey, appVersion + 1);
+                    volunteersApplied++;
+                    return outcome;
+                }
+            }
+        }
+    }
+
+    private static Result accept(InMemoryService service, String applicationId, Random random) {
+        Task<Void> task = SlotClaim.accept(service.forApplication(applicationId), random, DIRECT);
+        assertTrue(task.isComplete());
+        if (task.isSuccessful()) return Result.ACCEPTED;
+        return (task.getException() instanceof SlotClaim.ServiceFullException) ? Result.FULL : Result.FAILED;
+    }
+
+    /**
+     * Makes the first two steps of each of two threads wait for the other, so both list the
+     * same free slots and read the same slot before either commits; after that they run freely.
+     */
+    private static Runnable inStep() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ThreadLocal<Integer> steps = ThreadLocal.withInitial(() -> 0);
+        return () -> {
+            int step = steps.get();
+            steps.set(step + 1);
+            if (step >= 2) return;
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new AssertionError("Accepts did not run in step", e);
+            }
+        };
+    }
+
+    private static List<Result> acceptConcurrently(InMemoryService service, Random random) throws Exception {
+        service.step = inStep();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Result> first = executor.submit(() -> accept(service, "app1", random));
+            Future<Result> second = executor.submit(() -> accept(service, "app2", random));
+            return Arrays.asList(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void freeSlots_skipsTakenAndNonSlotDocuments() {
+        assertEquals(Arrays.asList(0, 2), SlotClaim.freeSlots(4, Arrays.asList("1", "3", "meta")));
+        assertEquals(Collections.emptyList(), SlotClaim.freeSlots(2, Arrays.asList("0", "1")));
+    }
+
+    @Test
+    public void decide_checksTheSlotBeforeTheApplication() {
+        assertEquals(SlotClaim.Outcome.SLOT_TAKEN, SlotClaim.decide(true, false, null));
+        assertEquals(SlotClaim.Outcome.NOT_FOUND, SlotClaim.decide(false, false, null));
+        assertEquals(SlotClaim.Outcome.NOT_PENDING, SlotClaim.decide(false, true, "Accepted"));
+        assertEquals(SlotClaim.Outcome.CLAIM, SlotClaim.decide(false, true, "Pending"));
+    }
+
+    @Test
+    public void acceptingADecidedApplication_claimsNothing() {
+        InMemoryService service = new InMemoryService(2);
+        service.statuses.put("app1", "Rejected");
+
+        assertEquals(Result.FAILED, accept(service, "app1", new Random()));
+        assertTrue(service.slots.isEmpty());
+        assertEquals(0, service.volunteersApplied);
+        assertFalse(service.closed);
+    }
+
+    @Test
+    public void acceptingIntoTheLastSlot_closesTheService() {
+        InMemoryService service = new InMemoryService(2);
+        service.slots.put("0", "earlier");
+        service.statuses.put("app1", "Pending");
+
+        assertEquals(Result.ACCEPTED, accept(service, "app1", new Random()));
+        assertEquals("app1", service.slots.get("1"));
+        assertTrue(service.closed);
+    }
+
+    @Test
+    public void acceptingIntoAFullService_failsFull_andClosesIt() {
+        // Filled by an earlier accept that never got to close it
+        InMemoryService service = new InMemoryService(1);
+        service.slots.put("0", "earlier");
+        service.statuses.put("app1", "Pending");
+
+        assertEquals(Result.FULL, accept(service, "app1", new Random()));
+        assertEquals("Pending", service.statuses.get("app1"));
+        assertTrue(service.closed);
+    }
+
+    @Test
+    public void slotTakenEveryTime_givesUpAfterMaxAttempts() {
+        int[] claims = {0};
+        boolean[] closed = {false};
+        SlotClaim.Slots alwaysTaken = new SlotClaim.Slots() {
+            @Override
+            public Task<List<Integer>> freeSlots() {
+                return Tasks.forResult(Arrays.asList(0, 1));
+            }
+
+            @Override
+            public Task<SlotClaim.Outcome> claim(int slot) {
+                claims[0]++;
+                return Tasks.forResult(SlotClaim.Outcome.SLOT_TAKEN);
+            }
+
+            @Override
+            public Task<Void> closeIfFull() {
+                closed[0] = true;
+                return Tasks.forResult(null);
+            }
+        };
+
+        Task<Void> task = SlotClaim.accept(alwaysTaken, new Random(), DIRECT);
+
+        assertTrue(task.getException() instanceof SlotClaim.SlotTakenException);
+        assertEquals(SlotClaim.MAX_ATTEMPTS, claims[0]);
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    public void twoConcurrentAccepts_forTheLastSlot_acceptExactlyOne() throws Exception {
+        InMemoryService service = new InMemoryService(2);
+        service.slots.put("0", "earlier");
+        service.statuses.put("app1", "Pending");
+        service.statuses.put("app2", "Pending");
+
+        List<Result> results = acceptConcurrently(service, new Random());
+
+        assertEquals(1, Collections.frequency(results, Result.ACCEPTED));
+        assertEquals(1, Collections.frequency(results, Result.FULL));
+
+        String winner = results.get(0) == Result.ACCEPTED ? "app1" : "app2";
+        String loser = winner.equals("app1") ? "app2" : "app1";
+        assertEquals(winner, service.slots.get("1"));
+        assertEquals(2, service.slots.size());
+        assertEquals("Accepted", service.statuses.get(winner));
+        assertEquals("Pending", service.statuses.get(loser));
+        assertEquals(1, service.volunteersApplied);
+        assertTrue(service.closed);
+    }
+
+    @Test
+    public void twoConcurrentAccepts_onTheSameSlot_retryAndBothGetOne() throws Exception {
+        InMemoryService service = new InMemoryService(3);
+        service.slots.put("0", "earlier");
+        service.statuses.put("app1", "Pending");
+        service.statuses.put("app2", "Pending");
+
+        List<Result> results = acceptConcurrently(service, new FirstSlot());
+
+        assertEquals(Arrays.asList(Result.ACCEPTED, Result.ACCEPTED), results);
+        assertEquals(3, service.slots.size());
+        assertEquals(2, service.volunteersApplied);
+        // Both read slot 1 before either committed, so the loser ran its transaction again and then retried slot 2
+        assertTrue(service.claimAttempts >= 3);
+        assertTrue(service.closed);
+    }
+}